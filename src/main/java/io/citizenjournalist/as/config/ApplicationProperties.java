@@ -1,5 +1,8 @@
 package io.citizenjournalist.as.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +13,1218 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Translation translation = new Translation();
+
     // jhipster-needle-application-properties-property
+
+    public Translation getTranslation() {
+        return translation;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Translation {
+
+        /**
+         * The translation provider to use: {@code google}, or {@code local} to simulate one without network access.
+         */
+        private String provider = "google";
+
+        private final Local local = new Local();
+
+        private final Cache cache = new Cache();
+
+        private final SegmentCache segmentCache = new SegmentCache();
+
+        private final Batch batch = new Batch();
+
+        private final Bulk bulk = new Bulk();
+
+        private final FanOut fanOut = new FanOut();
+
+        private final Chunk chunk = new Chunk();
+
+        private final RateLimit rateLimit = new RateLimit();
+
+        private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        private final Hedge hedge = new Hedge();
+
+        private final Google google = new Google();
+
+        private final Job job = new Job();
+
+        private final LanguageIdentification languageIdentification = new LanguageIdentification();
+
+        private final Memory memory = new Memory();
+
+        private final Glossary glossary = new Glossary();
+
+        private final Lanes lanes = new Lanes();
+
+        private final WriteBehind writeBehind = new WriteBehind();
+
+        public String getProvider() {
+            return provider;
+        }
+
+        public void setProvider(String provider) {
+            this.provider = provider;
+        }
+
+        public Local getLocal() {
+            return local;
+        }
+
+        public Cache getCache() {
+            return cache;
+        }
+
+        public SegmentCache getSegmentCache() {
+            return segmentCache;
+        }
+
+        public Batch getBatch() {
+            return batch;
+        }
+
+        public Bulk getBulk() {
+            return bulk;
+        }
+
+        public FanOut getFanOut() {
+            return fanOut;
+        }
+
+        public Chunk getChunk() {
+            return chunk;
+        }
+
+        public RateLimit getRateLimit() {
+            return rateLimit;
+        }
+
+        public CircuitBreaker getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public Hedge getHedge() {
+            return hedge;
+        }
+
+        public Google getGoogle() {
+            return google;
+        }
+
+        public Job getJob() {
+            return job;
+        }
+
+        public LanguageIdentification getLanguageIdentification() {
+            return languageIdentification;
+        }
+
+        public Memory getMemory() {
+            return memory;
+        }
+
+        public Glossary getGlossary() {
+            return glossary;
+        }
+
+        public Lanes getLanes() {
+            return lanes;
+        }
+
+        public WriteBehind getWriteBehind() {
+            return writeBehind;
+        }
+
+        public static class Local {
+
+            private Duration medianLatency = Duration.ofMillis(50);
+
+            private Duration p99Latency = Duration.ofMillis(250);
+
+            /**
+             * Share of calls, between 0 and 1, failing with a retryable error.
+             */
+            private double errorRate = 0;
+
+            private long seed = 42;
+
+            private String detectedLanguage = "en";
+
+            public Duration getMedianLatency() {
+                return medianLatency;
+            }
+
+            public void setMedianLatency(Duration medianLatency) {
+                this.medianLatency = medianLatency;
+            }
+
+            public Duration getP99Latency() {
+                return p99Latency;
+            }
+
+            public void setP99Latency(Duration p99Latency) {
+                this.p99Latency = p99Latency;
+            }
+
+            public double getErrorRate() {
+                return errorRate;
+            }
+
+            public void setErrorRate(double errorRate) {
+                this.errorRate = errorRate;
+            }
+
+            public long getSeed() {
+                return seed;
+            }
+
+            public void setSeed(long seed) {
+                this.seed = seed;
+            }
+
+            public String getDetectedLanguage() {
+                return detectedLanguage;
+            }
+
+            public void setDetectedLanguage(String detectedLanguage) {
+                this.detectedLanguage = detectedLanguage;
+            }
+        }
+
+        public static class Cache {
+
+            /**
+             * Upper bound of the cache, in characters of translated text.
+             */
+            private long maxWeight = 10_000_000L;
+
+            private Duration timeToLive = Duration.ofHours(24);
+
+            /**
+             * Upper bound of the translations kept past their time to live, served as stale when the provider is down.
+             */
+            private long staleMaxWeight = 50_000_000L;
+
+            private Duration staleTimeToLive = Duration.ofDays(7);
+
+            public long getMaxWeight() {
+                return maxWeight;
+            }
+
+            public void setMaxWeight(long maxWeight) {
+                this.maxWeight = maxWeight;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public long getStaleMaxWeight() {
+                return staleMaxWeight;
+            }
+
+            public void setStaleMaxWeight(long staleMaxWeight) {
+                this.staleMaxWeight = staleMaxWeight;
+            }
+
+            public Duration getStaleTimeToLive() {
+                return staleTimeToLive;
+            }
+
+            public void setStaleTimeToLive(Duration staleTimeToLive) {
+                this.staleTimeToLive = staleTimeToLive;
+            }
+        }
+
+        public static class SegmentCache {
+
+            private boolean enabled = true;
+
+            /**
+             * Upper bound of the cache, in characters of translated sentences.
+             */
+            private long maxWeight = 20_000_000L;
+
+            private Duration timeToLive = Duration.ofDays(7);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaxWeight() {
+                return maxWeight;
+            }
+
+            public void setMaxWeight(long maxWeight) {
+                this.maxWeight = maxWeight;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+
+        public static class Batch {
+
+            /**
+             * How long the first content of a batch waits for others before the batch is sent.
+             */
+            private Duration window = Duration.ofMillis(10);
+
+            private int maxSize = 128;
+
+            private int maxCharacters = 25_000;
+
+            public Duration getWindow() {
+                return window;
+            }
+
+            public void setWindow(Duration window) {
+                this.window = window;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getMaxCharacters() {
+                return maxCharacters;
+            }
+
+            public void setMaxCharacters(int maxCharacters) {
+                this.maxCharacters = maxCharacters;
+            }
+        }
+
+        public static class Bulk {
+
+            /**
+             * Maximum number of items of a bulk request translated at the same time.
+             */
+            private int concurrency = 64;
+
+            private int persistBatchSize = 100;
+
+            private Duration persistWindow = Duration.ofMillis(200);
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+
+            public int getPersistBatchSize() {
+                return persistBatchSize;
+            }
+
+            public void setPersistBatchSize(int persistBatchSize) {
+                this.persistBatchSize = persistBatchSize;
+            }
+
+            public Duration getPersistWindow() {
+                return persistWindow;
+            }
+
+            public void setPersistWindow(Duration persistWindow) {
+                this.persistWindow = persistWindow;
+            }
+        }
+
+        public static class FanOut {
+
+            /**
+             * Maximum number of target languages of one request translated at the same time.
+             */
+            private int concurrency = 12;
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+        }
+
+        public static class Chunk {
+
+            /**
+             * Texts longer than this are split into segments of at most this many characters.
+             */
+            private int maxCharacters = 5_000;
+
+            private int concurrency = 8;
+
+            private int maxRetries = 3;
+
+            private Duration retryBackoff = Duration.ofMillis(200);
+
+            public int getMaxCharacters() {
+                return maxCharacters;
+            }
+
+            public void setMaxCharacters(int maxCharacters) {
+                this.maxCharacters = maxCharacters;
+            }
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+
+            public int getMaxRetries() {
+                return maxRetries;
+            }
+
+            public void setMaxRetries(int maxRetries) {
+                this.maxRetries = maxRetries;
+            }
+
+            public Duration getRetryBackoff() {
+                return retryBackoff;
+            }
+
+            public void setRetryBackoff(Duration retryBackoff) {
+                this.retryBackoff = retryBackoff;
+            }
+        }
+
+        public static class RateLimit {
+
+            private boolean enabled = true;
+
+            /**
+             * Characters sent to the provider per minute, matching the quota of the provider project.
+             */
+            private long charactersPerMinute = 6_000_000L;
+
+            private long requestsPerMinute = 6_000L;
+
+            /**
+             * Maximum number of provider calls waiting for quota before new ones are rejected.
+             */
+            private int maxQueueDepth = 1_000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getCharactersPerMinute() {
+                return charactersPerMinute;
+            }
+
+            public void setCharactersPerMinute(long charactersPerMinute) {
+                this.charactersPerMinute = charactersPerMinute;
+            }
+
+            public long getRequestsPerMinute() {
+                return requestsPerMinute;
+            }
+
+            public void setRequestsPerMinute(long requestsPerMinute) {
+                this.requestsPerMinute = requestsPerMinute;
+            }
+
+            public int getMaxQueueDepth() {
+                return maxQueueDepth;
+            }
+
+            public void setMaxQueueDepth(int maxQueueDepth) {
+                this.maxQueueDepth = maxQueueDepth;
+            }
+        }
+
+        public static class CircuitBreaker {
+
+            /**
+             * Deadline of one provider call, not counting the time it waits in its lane, for the quota or for its batch.
+             */
+            private Duration timeout = Duration.ofSeconds(10);
+
+            /**
+             * Percentage of failed calls, over the sliding window, above which the breaker opens.
+             */
+            private float failureRateThreshold = 50;
+
+            private int slidingWindowSize = 50;
+
+            private int minimumNumberOfCalls = 20;
+
+            private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+
+            public float getFailureRateThreshold() {
+                return failureRateThreshold;
+            }
+
+            public void setFailureRateThreshold(float failureRateThreshold) {
+                this.failureRateThreshold = failureRateThreshold;
+            }
+
+            public int getSlidingWindowSize() {
+                return slidingWindowSize;
+            }
+
+            public void setSlidingWindowSize(int slidingWindowSize) {
+                this.slidingWindowSize = slidingWindowSize;
+            }
+
+            public int getMinimumNumberOfCalls() {
+                return minimumNumberOfCalls;
+            }
+
+            public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+                this.minimumNumberOfCalls = minimumNumberOfCalls;
+            }
+
+            public Duration getWaitDurationInOpenState() {
+                return waitDurationInOpenState;
+            }
+
+            public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+                this.waitDurationInOpenState = waitDurationInOpenState;
+            }
+        }
+
+        public static class Hedge {
+
+            private boolean enabled = false;
+
+            /**
+             * Percentile of the recent provider latencies after which a call is hedged, between 0 and 1.
+             */
+            private double percentile = 0.95;
+
+            /**
+             * Maximum share of extra provider calls sent as hedges, between 0 and 1.
+             */
+            private double budget = 0.05;
+
+            private Duration minDelay = Duration.ofMillis(50);
+
+            /**
+             * Number of recent provider latencies the percentile is computed over.
+             */
+            private int windowSize = 1_000;
+
+            private int minSamples = 100;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public double getPercentile() {
+                return percentile;
+            }
+
+            public void setPercentile(double percentile) {
+                this.percentile = percentile;
+            }
+
+            public double getBudget() {
+                return budget;
+            }
+
+            public void setBudget(double budget) {
+                this.budget = budget;
+            }
+
+            public Duration getMinDelay() {
+                return minDelay;
+            }
+
+            public void setMinDelay(Duration minDelay) {
+                this.minDelay = minDelay;
+            }
+
+            public int getWindowSize() {
+                return windowSize;
+            }
+
+            public void setWindowSize(int windowSize) {
+                this.windowSize = windowSize;
+            }
+
+            public int getMinSamples() {
+                return minSamples;
+            }
+
+            public void setMinSamples(int minSamples) {
+                this.minSamples = minSamples;
+            }
+        }
+
+        public static class Google {
+
+            /**
+             * Number of gRPC channels, each an HTTP/2 connection, calls are spread over.
+             */
+            private int channelPoolSize = 4;
+
+            private Duration keepAliveTime = Duration.ofSeconds(30);
+
+            private Duration keepAliveTimeout = Duration.ofSeconds(10);
+
+            private int executorThreadCount = 8;
+
+            /**
+             * Deadline of one translateText call to a location, including its retries. The deadlines of all locations
+             * together should be shorter than the circuit breaker timeout of a provider call, for a hanging location to
+             * fail over to the next one before the breaker gives up.
+             */
+            private Duration deadline = Duration.ofSeconds(3);
+
+            /**
+             * Attempts of one translateText call by the client; failed segments are also retried by the application.
+             */
+            private int maxAttempts = 1;
+
+            private Duration initialRetryDelay = Duration.ofMillis(100);
+
+            private double retryDelayMultiplier = 2;
+
+            private Duration maxRetryDelay = Duration.ofSeconds(2);
+
+            /**
+             * Whether to open the channels at startup rather than on the first requests.
+             */
+            private boolean warmUp = true;
+
+            /**
+             * Locations of the Translation API, each called through its own client. Each call goes to the location
+             * expected to answer first, and fails over to the others.
+             */
+            private List<Location> locations = new ArrayList<>(List.of(new Location()));
+
+            /**
+             * Weight of the latest call, between 0 and 1, in the moving averages of the latency and the error rate of
+             * each location.
+             */
+            private double routingSmoothing = 0.2;
+
+            /**
+             * A location which was not called for that long is sent the next call, to measure it again.
+             */
+            private Duration probeInterval = Duration.ofSeconds(30);
+
+            public int getChannelPoolSize() {
+                return channelPoolSize;
+            }
+
+            public void setChannelPoolSize(int channelPoolSize) {
+                this.channelPoolSize = channelPoolSize;
+            }
+
+            public Duration getKeepAliveTime() {
+                return keepAliveTime;
+            }
+
+            public void setKeepAliveTime(Duration keepAliveTime) {
+                this.keepAliveTime = keepAliveTime;
+            }
+
+            public Duration getKeepAliveTimeout() {
+                return keepAliveTimeout;
+            }
+
+            public void setKeepAliveTimeout(Duration keepAliveTimeout) {
+                this.keepAliveTimeout = keepAliveTimeout;
+            }
+
+            public int getExecutorThreadCount() {
+                return executorThreadCount;
+            }
+
+            public void setExecutorThreadCount(int executorThreadCount) {
+                this.executorThreadCount = executorThreadCount;
+            }
+
+            public Duration getDeadline() {
+                return deadline;
+            }
+
+            public void setDeadline(Duration deadline) {
+                this.deadline = deadline;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getInitialRetryDelay() {
+                return initialRetryDelay;
+            }
+
+            public void setInitialRetryDelay(Duration initialRetryDelay) {
+                this.initialRetryDelay = initialRetryDelay;
+            }
+
+            public double getRetryDelayMultiplier() {
+                return retryDelayMultiplier;
+            }
+
+            public void setRetryDelayMultiplier(double retryDelayMultiplier) {
+                this.retryDelayMultiplier = retryDelayMultiplier;
+            }
+
+            public Duration getMaxRetryDelay() {
+                return maxRetryDelay;
+            }
+
+            public void setMaxRetryDelay(Duration maxRetryDelay) {
+                this.maxRetryDelay = maxRetryDelay;
+            }
+
+            public boolean isWarmUp() {
+                return warmUp;
+            }
+
+            public void setWarmUp(boolean warmUp) {
+                this.warmUp = warmUp;
+            }
+
+            public List<Location> getLocations() {
+                return locations;
+            }
+
+            public void setLocations(List<Location> locations) {
+                this.locations = locations;
+            }
+
+            public double getRoutingSmoothing() {
+                return routingSmoothing;
+            }
+
+            public void setRoutingSmoothing(double routingSmoothing) {
+                this.routingSmoothing = routingSmoothing;
+            }
+
+            public Duration getProbeInterval() {
+                return probeInterval;
+            }
+
+            public void setProbeInterval(Duration probeInterval) {
+                this.probeInterval = probeInterval;
+            }
+
+            public static class Location {
+
+                /**
+                 * Location of the API, such as {@code global} or {@code us-central1}.
+                 */
+                private String name = "global";
+
+                /**
+                 * Host and port of the API serving the location, or empty for the default endpoint.
+                 */
+                private String endpoint;
+
+                public String getName() {
+                    return name;
+                }
+
+                public void setName(String name) {
+                    this.name = name;
+                }
+
+                public String getEndpoint() {
+                    return endpoint;
+                }
+
+                public void setEndpoint(String endpoint) {
+                    this.endpoint = endpoint;
+                }
+            }
+        }
+
+        public static class Job {
+
+            /**
+             * Whether this instance processes translation jobs; jobs can still be submitted when disabled.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of jobs processed at the same time by this instance.
+             */
+            private int concurrency = 4;
+
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            /**
+             * How long a claimed job stays locked without being renewed. The lock is renewed every third of it while the
+             * job runs, so that only the job of an instance which stopped is claimed again by another instance.
+             */
+            private Duration lease = Duration.ofMinutes(1);
+
+            private int maxAttempts = 3;
+
+            /**
+             * Upper bound of the time a client can wait for a job to finish in one request.
+             */
+            private Duration maxWait = Duration.ofSeconds(30);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public Duration getLease() {
+                return lease;
+            }
+
+            public void setLease(Duration lease) {
+                this.lease = lease;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getMaxWait() {
+                return maxWait;
+            }
+
+            public void setMaxWait(Duration maxWait) {
+                this.maxWait = maxWait;
+            }
+        }
+
+        public static class LanguageIdentification {
+
+            private boolean enabled = true;
+
+            /**
+             * Confidence, between 0 and 1, above which a text identified as being in its target language is not translated.
+             */
+            private double minConfidence = 0.99;
+
+            /**
+             * Texts with fewer letters than this are always translated.
+             */
+            private int minLength = 20;
+
+            /**
+             * Log-likelihood per n-gram by which the identified language must lead the runner-up.
+             */
+            private double minMargin = 0.05;
+
+            /**
+             * Share, between 0 and 1, of the trigrams of a text, or of its characters in ideographic scripts, which must be seen in
+             * the profile of the identified language.
+             */
+            private double minCoverage = 0.7;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public double getMinConfidence() {
+                return minConfidence;
+            }
+
+            public void setMinConfidence(double minConfidence) {
+                this.minConfidence = minConfidence;
+            }
+
+            public int getMinLength() {
+                return minLength;
+            }
+
+            public void setMinLength(int minLength) {
+                this.minLength = minLength;
+            }
+
+            public double getMinMargin() {
+                return minMargin;
+            }
+
+            public void setMinMargin(double minMargin) {
+                this.minMargin = minMargin;
+            }
+
+            public double getMinCoverage() {
+                return minCoverage;
+            }
+
+            public void setMinCoverage(double minCoverage) {
+                this.minCoverage = minCoverage;
+            }
+        }
+
+        public static class Memory {
+
+            private boolean enabled = true;
+
+            /**
+             * Estimated similarity, between 0 and 1, from which a stored translation is used for its sentences.
+             */
+            private double similarityThreshold = 0.8;
+
+            private int maxEntries = 10_000;
+
+            /**
+             * Maximum number of characters held by the index.
+             */
+            private long maxWeight = 20_000_000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public double getSimilarityThreshold() {
+                return similarityThreshold;
+            }
+
+            public void setSimilarityThreshold(double similarityThreshold) {
+                this.similarityThreshold = similarityThreshold;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public long getMaxWeight() {
+                return maxWeight;
+            }
+
+            public void setMaxWeight(long maxWeight) {
+                this.maxWeight = maxWeight;
+            }
+        }
+
+        public static class Glossary {
+
+            private boolean enabled = true;
+
+            /**
+             * How often the terms are reloaded from the database, to pick up changes made through other instances.
+             */
+            private Duration refreshInterval = Duration.ofMinutes(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getRefreshInterval() {
+                return refreshInterval;
+            }
+
+            public void setRefreshInterval(Duration refreshInterval) {
+                this.refreshInterval = refreshInterval;
+            }
+        }
+
+        public static class Lanes {
+
+            /**
+             * Whether interactive, bulk and background provider calls wait in lanes of their own. Otherwise they wait in
+             * a single FIFO queue, under the same global limit.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Whether the number of provider calls in flight, all lanes together, adapts to the latency of the provider.
+             * Otherwise it stays at the initial concurrency.
+             */
+            private boolean adaptive = true;
+
+            private int initialConcurrency = 16;
+
+            private int minConcurrency = 2;
+
+            private int maxConcurrency = 32;
+
+            /**
+             * Calls expected to wait longer than that for a slot are rejected right away.
+             */
+            private Duration maxWait = Duration.ofSeconds(10);
+
+            private final Lane interactive = new Lane(8, 16, 1_000);
+
+            private final Lane bulk = new Lane(2, 8, 10_000);
+
+            private final Lane background = new Lane(1, 4, 10_000);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public boolean isAdaptive() {
+                return adaptive;
+            }
+
+            public void setAdaptive(boolean adaptive) {
+                this.adaptive = adaptive;
+            }
+
+            public int getInitialConcurrency() {
+                return initialConcurrency;
+            }
+
+            public void setInitialConcurrency(int initialConcurrency) {
+                this.initialConcurrency = initialConcurrency;
+            }
+
+            public int getMinConcurrency() {
+                return minConcurrency;
+            }
+
+            public void setMinConcurrency(int minConcurrency) {
+                this.minConcurrency = minConcurrency;
+            }
+
+            public int getMaxConcurrency() {
+                return maxConcurrency;
+            }
+
+            public void setMaxConcurrency(int maxConcurrency) {
+                this.maxConcurrency = maxConcurrency;
+            }
+
+            public Duration getMaxWait() {
+                return maxWait;
+            }
+
+            public void setMaxWait(Duration maxWait) {
+                this.maxWait = maxWait;
+            }
+
+            public Lane getInteractive() {
+                return interactive;
+            }
+
+            public Lane getBulk() {
+                return bulk;
+            }
+
+            public Lane getBackground() {
+                return background;
+            }
+
+            public static class Lane {
+
+                /**
+                 * Share of the freed provider slots given to the lane while other lanes are waiting too.
+                 */
+                private int weight;
+
+                /**
+                 * Maximum number of provider calls of the lane in flight.
+                 */
+                private int concurrency;
+
+                /**
+                 * Maximum number of provider calls of the lane waiting for a slot.
+                 */
+                private int maxQueueDepth;
+
+                public Lane(int weight, int concurrency, int maxQueueDepth) {
+                    this.weight = weight;
+                    this.concurrency = concurrency;
+                    this.maxQueueDepth = maxQueueDepth;
+                }
+
+                public int getWeight() {
+                    return weight;
+                }
+
+                public void setWeight(int weight) {
+                    this.weight = weight;
+                }
+
+                public int getConcurrency() {
+                    return concurrency;
+                }
+
+                public void setConcurrency(int concurrency) {
+                    this.concurrency = concurrency;
+                }
+
+                public int getMaxQueueDepth() {
+                    return maxQueueDepth;
+                }
+
+                public void setMaxQueueDepth(int maxQueueDepth) {
+                    this.maxQueueDepth = maxQueueDepth;
+                }
+            }
+        }
+
+        public static class WriteBehind {
+
+            /**
+             * Whether new persisted translations are acknowledged once buffered, and inserted in batches afterwards.
+             */
+            private boolean enabled = false;
+
+            private int maxBatchSize = 500;
+
+            private Duration flushInterval = Duration.ofMillis(200);
+
+            /**
+             * Maximum number of characters of input and output text buffered. Writers wait for a flush beyond it.
+             */
+            private long maxBufferedCharacters = 20_000_000;
+
+            /**
+             * Attempts of a batch insert which failed transiently, after the first one. The batch is dropped afterwards, and
+             * at once after any other failure, which may have happened after the commit.
+             */
+            private int maxRetries = 3;
+
+            private Duration retryBackoff = Duration.ofMillis(500);
+
+            /**
+             * Maximum time given to the last flush on shutdown.
+             */
+            private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxBatchSize() {
+                return maxBatchSize;
+            }
+
+            public void setMaxBatchSize(int maxBatchSize) {
+                this.maxBatchSize = maxBatchSize;
+            }
+
+            public Duration getFlushInterval() {
+                return flushInterval;
+            }
+
+            public void setFlushInterval(Duration flushInterval) {
+                this.flushInterval = flushInterval;
+            }
+
+            public long getMaxBufferedCharacters() {
+                return maxBufferedCharacters;
+            }
+
+            public void setMaxBufferedCharacters(long maxBufferedCharacters) {
+                this.maxBufferedCharacters = maxBufferedCharacters;
+            }
+
+            public int getMaxRetries() {
+                return maxRetries;
+            }
+
+            public void setMaxRetries(int maxRetries) {
+                this.maxRetries = maxRetries;
+            }
+
+            public Duration getRetryBackoff() {
+                return retryBackoff;
+            }
+
+            public void setRetryBackoff(Duration retryBackoff) {
+                this.retryBackoff = retryBackoff;
+            }
+
+            public Duration getShutdownTimeout() {
+                return shutdownTimeout;
+            }
+
+            public void setShutdownTimeout(Duration shutdownTimeout) {
+                this.shutdownTimeout = shutdownTimeout;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
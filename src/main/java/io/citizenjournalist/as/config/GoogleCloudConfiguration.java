@@ -1,15 +1,109 @@
 package io.citizenjournalist.as.config;
 
+import com.google.api.gax.core.InstantiatingExecutorProvider;
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.api.gax.retrying.RetrySettings;
+import com.google.cloud.translate.v3beta1.LocationName;
 import com.google.cloud.translate.v3beta1.TranslationServiceClient;
+import com.google.cloud.translate.v3beta1.TranslationServiceSettings;
+import io.citizenjournalist.as.service.translation.GoogleTranslationLocation;
+import io.citizenjournalist.as.service.translation.GoogleTranslationProvider;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(prefix = "application.translation", name = "provider", havingValue = "google", matchIfMissing = true)
 public class GoogleCloudConfiguration {
 
-    @Bean
-    public TranslationServiceClient translationServiceClient() throws IOException {
-        return TranslationServiceClient.create();
+    private final Logger log = LoggerFactory.getLogger(GoogleCloudConfiguration.class);
+
+    private final ApplicationProperties.Translation.Google properties;
+
+    private final Duration breakerTimeout;
+
+    private final String projectId;
+
+    public GoogleCloudConfiguration(ApplicationProperties applicationProperties, @Value("${google.project-id}") String projectId) {
+        this.properties = applicationProperties.getTranslation().getGoogle();
+        this.breakerTimeout = applicationProperties.getTranslation().getCircuitBreaker().getTimeout();
+        this.projectId = projectId;
+    }
+
+    /**
+     * One client per configured location, closed by the {@link GoogleTranslationProvider}.
+     */
+    @Bean(destroyMethod = "")
+    public List<GoogleTranslationLocation> googleTranslationLocations() throws IOException {
+        checkDeadline();
+        List<GoogleTranslationLocation> locations = new ArrayList<>();
+        for (ApplicationProperties.Translation.Google.Location location : properties.getLocations()) {
+            locations.add(new GoogleTranslationLocation(LocationName.of(projectId, location.getName()), createClient(location)));
+        }
+        return locations;
+    }
+
+    /**
+     * Warns when a provider call, which tries the locations one after the other while they fail, could be cut by the
+     * circuit breaker timeout of the call before the deadline of every location has fired.
+     */
+    private void checkDeadline() {
+        Duration failover = properties.getDeadline().multipliedBy(properties.getLocations().size());
+        if (failover.compareTo(breakerTimeout) >= 0) {
+            log.warn(
+                "Google deadline {} for {} locations reaches the circuit breaker timeout {}, the last locations may never be tried",
+                properties.getDeadline(),
+                properties.getLocations().size(),
+                breakerTimeout
+            );
+        }
+    }
+
+    private TranslationServiceClient createClient(ApplicationProperties.Translation.Google.Location location) throws IOException {
+        InstantiatingGrpcChannelProvider channelProvider = TranslationServiceSettings
+            .defaultGrpcTransportProviderBuilder()
+            .setChannelPoolSettings(ChannelPoolSettings.staticallySized(properties.getChannelPoolSize()))
+            .setKeepAliveTime(toThreeten(properties.getKeepAliveTime()))
+            .setKeepAliveTimeout(toThreeten(properties.getKeepAliveTimeout()))
+            .setKeepAliveWithoutCalls(true)
+            .build();
+        TranslationServiceSettings.Builder settings = TranslationServiceSettings.newBuilder();
+        if (location.getEndpoint() != null && !location.getEndpoint().isBlank()) {
+            settings.setEndpoint(location.getEndpoint());
+        }
+        settings
+            .setTransportChannelProvider(channelProvider)
+            .setBackgroundExecutorProvider(
+                InstantiatingExecutorProvider.newBuilder().setExecutorThreadCount(properties.getExecutorThreadCount()).build()
+            );
+        org.threeten.bp.Duration deadline = toThreeten(properties.getDeadline());
+        settings
+            .translateTextSettings()
+            .setRetrySettings(
+                RetrySettings
+                    .newBuilder()
+                    .setTotalTimeout(deadline)
+                    .setInitialRpcTimeout(deadline)
+                    .setMaxRpcTimeout(deadline)
+                    .setRpcTimeoutMultiplier(1)
+                    .setMaxAttempts(properties.getMaxAttempts())
+                    .setInitialRetryDelay(toThreeten(properties.getInitialRetryDelay()))
+                    .setRetryDelayMultiplier(properties.getRetryDelayMultiplier())
+                    .setMaxRetryDelay(toThreeten(properties.getMaxRetryDelay()))
+                    .build()
+            );
+        return TranslationServiceClient.create(settings.build());
+    }
+
+    private static org.threeten.bp.Duration toThreeten(Duration duration) {
+        return org.threeten.bp.Duration.ofNanos(duration.toNanos());
     }
 }
@@ -0,0 +1,61 @@
+package io.citizenjournalist.as.config;
+
+import io.citizenjournalist.as.service.translation.TranslationProviderException;
+import io.citizenjournalist.as.service.translation.TranslationRateLimitExceededException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the circuit breaker and time limiter guarding the translation provider.
+ * <p>
+ * Only failures telling that the provider is unavailable count against the breaker: rejected requests and local quota
+ * rejections do not.
+ */
+@Configuration
+public class TranslationCircuitBreakerConfiguration {
+
+    private static final String TRANSLATION_CIRCUIT_BREAKER = "translation";
+
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> translationCircuitBreakerCustomizer(
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.Translation.CircuitBreaker properties = applicationProperties.getTranslation().getCircuitBreaker();
+        return factory ->
+            factory.configure(
+                builder ->
+                    builder
+                        .timeLimiterConfig(TimeLimiterConfig.custom().timeoutDuration(properties.getTimeout()).build())
+                        .circuitBreakerConfig(
+                            CircuitBreakerConfig
+                                .custom()
+                                .failureRateThreshold(properties.getFailureRateThreshold())
+                                .slidingWindowSize(properties.getSlidingWindowSize())
+                                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                                .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                                .recordException(TranslationCircuitBreakerConfiguration::isProviderFailure)
+                                .build()
+                        ),
+                TRANSLATION_CIRCUIT_BREAKER
+            );
+    }
+
+    @Bean
+    public ReactiveCircuitBreaker translationCircuitBreaker(ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory) {
+        return circuitBreakerFactory.create(TRANSLATION_CIRCUIT_BREAKER);
+    }
+
+    private static boolean isProviderFailure(Throwable error) {
+        if (error instanceof TranslationRateLimitExceededException) {
+            return false;
+        }
+        return !(error instanceof TranslationProviderException) || ((TranslationProviderException) error).isRetryable();
+    }
+}
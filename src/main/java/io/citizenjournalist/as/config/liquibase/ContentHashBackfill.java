@@ -0,0 +1,70 @@
+package io.citizenjournalist.as.config.liquibase;
+
+import io.citizenjournalist.as.service.translation.TranslationKey;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * Fills in the content hash of the translations persisted before it was added, so that they are found by the lookup
+ * before calling the provider. The hash is computed like {@link TranslationKey#contentHash}, whose Unicode normalization
+ * the database cannot do.
+ */
+public class ContentHashBackfill implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 500;
+
+    private int updated;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        JdbcConnection connection = (JdbcConnection) database.getConnection();
+        try (
+            PreparedStatement select = connection.prepareStatement(
+                "SELECT id, input_text FROM translation WHERE content_hash IS NULL AND input_text IS NOT NULL"
+            );
+            PreparedStatement update = connection.prepareStatement("UPDATE translation SET content_hash = ? WHERE id = ?");
+            ResultSet rows = select.executeQuery()
+        ) {
+            int pending = 0;
+            while (rows.next()) {
+                update.setString(1, TranslationKey.contentHash(rows.getString("input_text")));
+                update.setLong(2, rows.getLong("id"));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+                updated++;
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        } catch (DatabaseException | SQLException e) {
+            throw new CustomChangeException("Could not fill in the content hash of the translations", e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Filled in the content hash of " + updated + " translations";
+    }
+
+    @Override
+    public void setUp() {}
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {}
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
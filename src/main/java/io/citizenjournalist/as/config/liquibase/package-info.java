@@ -0,0 +1,4 @@
+/**
+ * Liquibase custom changes.
+ */
+package io.citizenjournalist.as.config.liquibase;
@@ -0,0 +1,121 @@
+package io.citizenjournalist.as.domain;
+
+import io.citizenjournalist.as.domain.enumeration.Language;
+import java.io.Serializable;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A GlossaryTerm: a term which is not translated, or is translated into a fixed replacement.
+ * <p>
+ * A term without a language applies to every target language; a term with a language only applies to that one and
+ * takes precedence over the same term without a language.
+ */
+@Table("glossary_term")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class GlossaryTerm implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull(message = "must not be null")
+    @Size(min = 1, max = 255)
+    @Column("term")
+    private String term;
+
+    @Size(max = 255)
+    @Column("replacement")
+    private String replacement;
+
+    @Column("language")
+    private Language language;
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public GlossaryTerm id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTerm() {
+        return this.term;
+    }
+
+    public GlossaryTerm term(String term) {
+        this.setTerm(term);
+        return this;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public String getReplacement() {
+        return this.replacement;
+    }
+
+    public GlossaryTerm replacement(String replacement) {
+        this.setReplacement(replacement);
+        return this;
+    }
+
+    public void setReplacement(String replacement) {
+        this.replacement = replacement;
+    }
+
+    public Language getLanguage() {
+        return this.language;
+    }
+
+    public GlossaryTerm language(Language language) {
+        this.setLanguage(language);
+        return this;
+    }
+
+    public void setLanguage(Language language) {
+        this.language = language;
+    }
+
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GlossaryTerm)) {
+            return false;
+        }
+        return id != null && id.equals(((GlossaryTerm) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GlossaryTerm{" +
+            "id=" + getId() +
+            ", term='" + getTerm() + "'" +
+            ", replacement='" + getReplacement() + "'" +
+            ", language='" + getLanguage() + "'" +
+            "}";
+    }
+}
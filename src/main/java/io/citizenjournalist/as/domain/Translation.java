@@ -38,6 +38,15 @@ public class Translation implements Serializable {
     @Column("output_text")
     private String outputText;
 
+    @Column("content_hash")
+    private String contentHash;
+
+    @Column("mime_type")
+    private String mimeType;
+
+    @Column("glossary_version")
+    private String glossaryVersion;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -118,6 +127,45 @@ public class Translation implements Serializable {
         this.outputText = outputText;
     }
 
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    public Translation contentHash(String contentHash) {
+        this.setContentHash(contentHash);
+        return this;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getMimeType() {
+        return this.mimeType;
+    }
+
+    public Translation mimeType(String mimeType) {
+        this.setMimeType(mimeType);
+        return this;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public String getGlossaryVersion() {
+        return this.glossaryVersion;
+    }
+
+    public Translation glossaryVersion(String glossaryVersion) {
+        this.setGlossaryVersion(glossaryVersion);
+        return this;
+    }
+
+    public void setGlossaryVersion(String glossaryVersion) {
+        this.glossaryVersion = glossaryVersion;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -147,6 +195,9 @@ public class Translation implements Serializable {
             ", persist='" + getPersist() + "'" +
             ", detectedLanguage='" + getDetectedLanguage() + "'" +
             ", outputText='" + getOutputText() + "'" +
+            ", contentHash='" + getContentHash() + "'" +
+            ", mimeType='" + getMimeType() + "'" +
+            ", glossaryVersion='" + getGlossaryVersion() + "'" +
             "}";
     }
 }
@@ -0,0 +1,244 @@
+package io.citizenjournalist.as.domain;
+
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.citizenjournalist.as.domain.enumeration.TranslationJobStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A TranslationJob: an input text translated in the background, whose result is stored as a {@link Translation}.
+ * <p>
+ * A job is claimed by one instance at a time, which holds it until {@code lockedUntil}; a job whose lock has expired,
+ * because the instance processing it went away, can be claimed again.
+ */
+@Table("translation_job")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class TranslationJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull(message = "must not be null")
+    @Column("input_text")
+    private String inputText;
+
+    @NotNull(message = "must not be null")
+    @Column("language")
+    private Language language;
+
+    @NotNull(message = "must not be null")
+    @Column("status")
+    private TranslationJobStatus status;
+
+    @NotNull(message = "must not be null")
+    @Column("attempts")
+    private Integer attempts;
+
+    @Column("locked_by")
+    private String lockedBy;
+
+    @Column("locked_until")
+    private Instant lockedUntil;
+
+    @Column("translation_id")
+    private Long translationId;
+
+    @Column("error_message")
+    private String errorMessage;
+
+    @Column("created_date")
+    private Instant createdDate;
+
+    @Column("last_modified_date")
+    private Instant lastModifiedDate;
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public TranslationJob id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getInputText() {
+        return this.inputText;
+    }
+
+    public TranslationJob inputText(String inputText) {
+        this.setInputText(inputText);
+        return this;
+    }
+
+    public void setInputText(String inputText) {
+        this.inputText = inputText;
+    }
+
+    public Language getLanguage() {
+        return this.language;
+    }
+
+    public TranslationJob language(Language language) {
+        this.setLanguage(language);
+        return this;
+    }
+
+    public void setLanguage(Language language) {
+        this.language = language;
+    }
+
+    public TranslationJobStatus getStatus() {
+        return this.status;
+    }
+
+    public TranslationJob status(TranslationJobStatus status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(TranslationJobStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public TranslationJob attempts(Integer attempts) {
+        this.setAttempts(attempts);
+        return this;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLockedBy() {
+        return this.lockedBy;
+    }
+
+    public TranslationJob lockedBy(String lockedBy) {
+        this.setLockedBy(lockedBy);
+        return this;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    public Instant getLockedUntil() {
+        return this.lockedUntil;
+    }
+
+    public TranslationJob lockedUntil(Instant lockedUntil) {
+        this.setLockedUntil(lockedUntil);
+        return this;
+    }
+
+    public void setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public Long getTranslationId() {
+        return this.translationId;
+    }
+
+    public TranslationJob translationId(Long translationId) {
+        this.setTranslationId(translationId);
+        return this;
+    }
+
+    public void setTranslationId(Long translationId) {
+        this.translationId = translationId;
+    }
+
+    public String getErrorMessage() {
+        return this.errorMessage;
+    }
+
+    public TranslationJob errorMessage(String errorMessage) {
+        this.setErrorMessage(errorMessage);
+        return this;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public TranslationJob createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public TranslationJob lastModifiedDate(Instant lastModifiedDate) {
+        this.setLastModifiedDate(lastModifiedDate);
+        return this;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TranslationJob)) {
+            return false;
+        }
+        return id != null && id.equals(((TranslationJob) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TranslationJob{" +
+            "id=" + getId() +
+            ", inputText='" + getInputText() + "'" +
+            ", language='" + getLanguage() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", attempts=" + getAttempts() +
+            ", lockedBy='" + getLockedBy() + "'" +
+            ", lockedUntil='" + getLockedUntil() + "'" +
+            ", translationId=" + getTranslationId() +
+            ", errorMessage='" + getErrorMessage() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", lastModifiedDate='" + getLastModifiedDate() + "'" +
+            "}";
+    }
+}
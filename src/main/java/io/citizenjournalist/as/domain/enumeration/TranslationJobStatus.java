@@ -0,0 +1,11 @@
+package io.citizenjournalist.as.domain.enumeration;
+
+/**
+ * The TranslationJobStatus enumeration.
+ */
+public enum TranslationJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED,
+}
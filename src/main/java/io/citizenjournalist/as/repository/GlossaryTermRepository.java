@@ -0,0 +1,11 @@
+package io.citizenjournalist.as.repository;
+
+import io.citizenjournalist.as.domain.GlossaryTerm;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data R2DBC repository for the GlossaryTerm entity.
+ */
+@Repository
+public interface GlossaryTermRepository extends ReactiveCrudRepository<GlossaryTerm, Long> {}
@@ -0,0 +1,55 @@
+package io.citizenjournalist.as.repository;
+
+import io.citizenjournalist.as.domain.TranslationJob;
+import java.time.Instant;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the TranslationJob entity.
+ * <p>
+ * Jobs are claimed with a conditional update: the row lock taken by the update lets only one instance move a job to
+ * {@code RUNNING}, and the others see no updated row. The owner of a job renews its lock while the job runs, and finds
+ * out the same way when it lost it.
+ */
+@Repository
+public interface TranslationJobRepository extends ReactiveCrudRepository<TranslationJob, Long> {
+    @Query(
+        "SELECT id FROM translation_job WHERE status = 'PENDING' OR (status = 'RUNNING' AND locked_until < :now) " +
+        "ORDER BY id LIMIT :limit"
+    )
+    Flux<Long> findClaimableIds(Instant now, int limit);
+
+    @Modifying
+    @Query(
+        "UPDATE translation_job SET status = 'RUNNING', locked_by = :owner, locked_until = :lockedUntil, " +
+        "attempts = attempts + 1, last_modified_date = :now " +
+        "WHERE id = :id AND (status = 'PENDING' OR (status = 'RUNNING' AND locked_until < :now))"
+    )
+    Mono<Integer> claim(Long id, String owner, Instant now, Instant lockedUntil);
+
+    @Modifying
+    @Query(
+        "UPDATE translation_job SET locked_until = :lockedUntil, last_modified_date = :now " +
+        "WHERE id = :id AND status = 'RUNNING' AND locked_by = :owner"
+    )
+    Mono<Integer> renew(Long id, String owner, Instant now, Instant lockedUntil);
+
+    @Modifying
+    @Query(
+        "UPDATE translation_job SET status = 'DONE', translation_id = :translationId, error_message = NULL, " +
+        "locked_by = NULL, locked_until = NULL, last_modified_date = :now WHERE id = :id AND locked_by = :owner"
+    )
+    Mono<Integer> complete(Long id, String owner, Long translationId, Instant now);
+
+    @Modifying
+    @Query(
+        "UPDATE translation_job SET status = :status, error_message = :errorMessage, " +
+        "locked_by = NULL, locked_until = NULL, last_modified_date = :now WHERE id = :id AND locked_by = :owner"
+    )
+    Mono<Integer> release(Long id, String owner, String status, String errorMessage, Instant now);
+}
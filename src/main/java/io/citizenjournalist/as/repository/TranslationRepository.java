@@ -1,6 +1,8 @@
 package io.citizenjournalist.as.repository;
 
 import io.citizenjournalist.as.domain.Translation;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -28,6 +30,17 @@ public interface TranslationRepository extends ReactiveCrudRepository<Translatio
 
     @Override
     Mono<Void> deleteById(Long id);
+
+    @Override
+    Mono<Translation> findLatestByContentHashAndLanguageAndMimeTypeAndGlossaryVersion(
+        String contentHash,
+        Language language,
+        String mimeType,
+        String glossaryVersion
+    );
+
+    @Override
+    Flux<Long> insertAll(List<Translation> translations);
 }
 
 interface TranslationRepositoryInternal {
@@ -38,6 +51,31 @@ interface TranslationRepositoryInternal {
     Flux<Translation> findAll();
 
     Mono<Translation> findById(Long id);
+
+    /**
+     * Find the most recent translation of a content of a given format into a language that has an output text, made
+     * with a given glossary.
+     *
+     * @param contentHash the hash of the normalized input text.
+     * @param language the target language.
+     * @param mimeType the format of the input text.
+     * @param glossaryVersion the version of the glossary, or {@code null} for translations made without glossary.
+     * @return the most recent matching translation, or empty.
+     */
+    Mono<Translation> findLatestByContentHashAndLanguageAndMimeTypeAndGlossaryVersion(
+        String contentHash,
+        Language language,
+        String mimeType,
+        String glossaryVersion
+    );
+
+    /**
+     * Insert new translations with a single multi-row statement.
+     *
+     * @param translations the translations to insert, without id.
+     * @return the generated ids, in the order of the translations.
+     */
+    Flux<Long> insertAll(List<Translation> translations);
     // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
     // Flux<Translation> findAllBy(Pageable pageable, Criteria criteria);
 
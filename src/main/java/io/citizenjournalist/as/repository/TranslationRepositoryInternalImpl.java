@@ -14,7 +14,9 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
@@ -25,6 +27,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -72,11 +75,14 @@ class TranslationRepositoryInternalImpl extends SimpleR2dbcRepository<Translatio
     }
 
     RowsFetchSpec<Translation> createQuery(Pageable pageable, Condition whereClause) {
+        return db.sql(createSelect(pageable, whereClause)).map(this::process);
+    }
+
+    private String createSelect(Pageable pageable, Condition whereClause) {
         List<Expression> columns = TranslationSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Translation.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return entityManager.createSelect(selectFrom, Translation.class, pageable, whereClause);
     }
 
     @Override
@@ -90,6 +96,72 @@ class TranslationRepositoryInternalImpl extends SimpleR2dbcRepository<Translatio
         return createQuery(null, whereClause).one();
     }
 
+    @Override
+    public Mono<Translation> findLatestByContentHashAndLanguageAndMimeTypeAndGlossaryVersion(
+        String contentHash,
+        Language language,
+        String mimeType,
+        String glossaryVersion
+    ) {
+        Condition whereClause = Conditions
+            .isEqual(entityTable.column("content_hash"), SQL.bindMarker(":contentHash"))
+            .and(Conditions.isEqual(entityTable.column("language"), SQL.bindMarker(":language")))
+            .and(Conditions.isEqual(entityTable.column("mime_type"), SQL.bindMarker(":mimeType")))
+            .and(
+                glossaryVersion != null
+                    ? Conditions.isEqual(entityTable.column("glossary_version"), SQL.bindMarker(":glossaryVersion"))
+                    : Conditions.isNull(entityTable.column("glossary_version"))
+            )
+            .and(Conditions.isNull(entityTable.column("output_text")).not());
+        DatabaseClient.GenericExecuteSpec statement = db
+            .sql(createSelect(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id")), whereClause))
+            .bind("contentHash", contentHash)
+            .bind("language", language.name())
+            .bind("mimeType", mimeType);
+        if (glossaryVersion != null) {
+            statement = statement.bind("glossaryVersion", glossaryVersion);
+        }
+        return statement.map(this::process).one();
+    }
+
+    @Override
+    public Flux<Long> insertAll(List<Translation> translations) {
+        if (translations.isEmpty()) {
+            return Flux.empty();
+        }
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO translation (input_text, language, persist, detected_language, output_text, content_hash, mime_type, " +
+            "glossary_version) VALUES "
+        );
+        for (int i = 0; i < translations.size(); i++) {
+            sql.append(i == 0 ? "" : ", ");
+            sql.append(String.format("(:inputText%1$d, :language%1$d, :persist%1$d, :detectedLanguage%1$d, ", i));
+            sql.append(String.format(":outputText%1$d, :contentHash%1$d, :mimeType%1$d, :glossaryVersion%1$d)", i));
+        }
+        DatabaseClient.GenericExecuteSpec statement = db.sql(sql.toString());
+        for (int i = 0; i < translations.size(); i++) {
+            Translation translation = translations.get(i);
+            statement = bind(statement, "inputText" + i, translation.getInputText(), String.class);
+            statement = bind(statement, "language" + i, translation.getLanguage().name(), String.class);
+            statement = bind(statement, "persist" + i, translation.getPersist(), Boolean.class);
+            statement = bind(statement, "detectedLanguage" + i, translation.getDetectedLanguage(), String.class);
+            statement = bind(statement, "outputText" + i, translation.getOutputText(), String.class);
+            statement = bind(statement, "contentHash" + i, translation.getContentHash(), String.class);
+            statement = bind(statement, "mimeType" + i, translation.getMimeType(), String.class);
+            statement = bind(statement, "glossaryVersion" + i, translation.getGlossaryVersion(), String.class);
+        }
+        return statement.filter(s -> s.returnGeneratedValues("id")).map(row -> row.get("id", Long.class)).all();
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bind(
+        DatabaseClient.GenericExecuteSpec statement,
+        String name,
+        T value,
+        Class<T> type
+    ) {
+        return value != null ? statement.bind(name, value) : statement.bindNull(name, type);
+    }
+
     private Translation process(Row row, RowMetadata metadata) {
         Translation entity = translationMapper.apply(row, "e");
         return entity;
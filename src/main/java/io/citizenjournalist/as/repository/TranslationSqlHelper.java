@@ -16,6 +16,9 @@ public class TranslationSqlHelper {
         columns.add(Column.aliased("persist", table, columnPrefix + "_persist"));
         columns.add(Column.aliased("detected_language", table, columnPrefix + "_detected_language"));
         columns.add(Column.aliased("output_text", table, columnPrefix + "_output_text"));
+        columns.add(Column.aliased("content_hash", table, columnPrefix + "_content_hash"));
+        columns.add(Column.aliased("mime_type", table, columnPrefix + "_mime_type"));
+        columns.add(Column.aliased("glossary_version", table, columnPrefix + "_glossary_version"));
 
         return columns;
     }
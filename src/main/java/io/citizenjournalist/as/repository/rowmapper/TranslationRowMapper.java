@@ -31,6 +31,9 @@ public class TranslationRowMapper implements BiFunction<Row, String, Translation
         entity.setPersist(converter.fromRow(row, prefix + "_persist", Boolean.class));
         entity.setDetectedLanguage(converter.fromRow(row, prefix + "_detected_language", String.class));
         entity.setOutputText(converter.fromRow(row, prefix + "_output_text", String.class));
+        entity.setContentHash(converter.fromRow(row, prefix + "_content_hash", String.class));
+        entity.setMimeType(converter.fromRow(row, prefix + "_mime_type", String.class));
+        entity.setGlossaryVersion(converter.fromRow(row, prefix + "_glossary_version", String.class));
         return entity;
     }
 }
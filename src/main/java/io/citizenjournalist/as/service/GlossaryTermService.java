@@ -0,0 +1,49 @@
+package io.citizenjournalist.as.service;
+
+import io.citizenjournalist.as.service.dto.GlossaryTermDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for managing {@link io.citizenjournalist.as.domain.GlossaryTerm}.
+ */
+public interface GlossaryTermService {
+    /**
+     * Save a glossaryTerm.
+     *
+     * @param glossaryTermDTO the entity to save.
+     * @return the persisted entity.
+     */
+    Mono<GlossaryTermDTO> save(GlossaryTermDTO glossaryTermDTO);
+
+    /**
+     * Updates a glossaryTerm.
+     *
+     * @param glossaryTermDTO the entity to update.
+     * @return the persisted entity.
+     */
+    Mono<GlossaryTermDTO> update(GlossaryTermDTO glossaryTermDTO);
+
+    /**
+     * Get all the glossaryTerms.
+     *
+     * @return the list of entities.
+     */
+    Flux<GlossaryTermDTO> findAll();
+
+    /**
+     * Get the "id" glossaryTerm.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Mono<GlossaryTermDTO> findOne(Long id);
+
+    /**
+     * Delete the "id" glossaryTerm.
+     *
+     * @param id the id of the entity.
+     * @return a Mono to signal the deletion
+     */
+    Mono<Void> delete(Long id);
+}
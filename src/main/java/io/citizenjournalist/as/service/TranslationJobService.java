@@ -0,0 +1,35 @@
+package io.citizenjournalist.as.service;
+
+import io.citizenjournalist.as.service.dto.TranslationJobDTO;
+import java.time.Duration;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for managing {@link io.citizenjournalist.as.domain.TranslationJob}.
+ */
+public interface TranslationJobService {
+    /**
+     * Submit a translation job, to be processed in the background.
+     *
+     * @param translationJobDTO the input text and the target language.
+     * @return the pending job.
+     */
+    Mono<TranslationJobDTO> submit(TranslationJobDTO translationJobDTO);
+
+    /**
+     * Get the "id" translation job.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Mono<TranslationJobDTO> findOne(Long id);
+
+    /**
+     * Get the "id" translation job once it is finished, or when the timeout elapses.
+     *
+     * @param id the id of the entity.
+     * @param timeout how long to wait for the job to finish.
+     * @return the entity, finished or not.
+     */
+    Mono<TranslationJobDTO> awaitFinished(Long id, Duration timeout);
+}
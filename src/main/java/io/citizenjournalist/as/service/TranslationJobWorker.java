@@ -0,0 +1,184 @@
+package io.citizenjournalist.as.service;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.TranslationJob;
+import io.citizenjournalist.as.domain.enumeration.TranslationJobStatus;
+import io.citizenjournalist.as.repository.TranslationJobRepository;
+import io.citizenjournalist.as.service.dto.TranslationDTO;
+import io.citizenjournalist.as.service.translation.TranslationPriority;
+import io.citizenjournalist.as.service.translation.TranslationProviderException;
+import io.citizenjournalist.as.service.translation.TranslationUnavailableException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Processes the pending {@link TranslationJob}s.
+ * <p>
+ * Every poll interval, the worker claims as many jobs as it has free slots, translates them through
+ * {@link TranslationService#save}, which splits long texts into segments, and records the persisted translation on the
+ * job. A failed job is released for another attempt, or marked {@code FAILED} once it has used all its attempts.
+ * <p>
+ * A claimed job is locked for the configured lease, which the worker renews while the job runs. If another instance
+ * claimed the job in the meantime, because this one could not renew it in time, the translation is cancelled.
+ * <p>
+ * Jobs are translated with the {@link TranslationPriority#BACKGROUND background} priority.
+ */
+@Service
+public class TranslationJobWorker {
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1024;
+
+    private final Logger log = LoggerFactory.getLogger(TranslationJobWorker.class);
+
+    private final TranslationJobRepository translationJobRepository;
+
+    private final TranslationService translationService;
+
+    private final ApplicationProperties.Translation.Job properties;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private Disposable polling;
+
+    public TranslationJobWorker(
+        TranslationJobRepository translationJobRepository,
+        TranslationService translationService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.translationJobRepository = translationJobRepository;
+        this.translationService = translationService;
+        this.properties = applicationProperties.getTranslation().getJob();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        log.debug("Starting translation job worker {}", owner);
+        polling =
+            Flux
+                .interval(properties.getPollInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> claim(), 1)
+                .flatMap(this::process, properties.getConcurrency())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    private Flux<TranslationJob> claim() {
+        int free = properties.getConcurrency() - running.get();
+        if (free <= 0) {
+            return Flux.empty();
+        }
+        Instant now = Instant.now();
+        return translationJobRepository
+            .findClaimableIds(now, free)
+            .concatMap(id ->
+                translationJobRepository
+                    .claim(id, owner, now, now.plus(properties.getLease()))
+                    .filter(updated -> updated == 1)
+                    .flatMap(updated -> translationJobRepository.findById(id))
+            )
+            .doOnNext(translationJob -> running.incrementAndGet())
+            .onErrorResume(error -> {
+                log.warn("Could not claim translation jobs: {}", error.getMessage());
+                return Flux.empty();
+            });
+    }
+
+    private Mono<Void> process(TranslationJob translationJob) {
+        log.debug("Processing TranslationJob : {}", translationJob.getId());
+        Mono<Integer> result;
+        if (translationJob.getAttempts() > properties.getMaxAttempts()) {
+            result = release(translationJob, TranslationJobStatus.FAILED, "Abandoned after " + properties.getMaxAttempts() + " attempts");
+        } else {
+            TranslationDTO translationDTO = new TranslationDTO();
+            translationDTO.setInputText(translationJob.getInputText());
+            translationDTO.setLanguage(translationJob.getLanguage());
+            translationDTO.setPersist(true);
+            result =
+                translationService
+                    .save(translationDTO)
+                    .takeUntilOther(leaseLost(translationJob))
+                    .flatMap(translation ->
+                        // a stale translation is not persisted: the job waits for the provider to be back
+                        Boolean.TRUE.equals(translation.getStale())
+                            ? Mono.error(new TranslationUnavailableException(null))
+                            : translationJobRepository.complete(translationJob.getId(), owner, translation.getId(), Instant.now())
+                    )
+                    .onErrorResume(error -> release(translationJob, retryStatus(translationJob, error), error.getMessage()))
+                    // the translation was cancelled as the job is no longer ours
+                    .defaultIfEmpty(0)
+                    .contextWrite(TranslationPriority.BACKGROUND.asContext());
+        }
+        return result
+            .doOnNext(updated -> {
+                if (updated == 0) {
+                    log.warn("TranslationJob {} was claimed by another instance before it finished", translationJob.getId());
+                }
+            })
+            .onErrorResume(error -> {
+                log.warn("Could not record the result of TranslationJob {}: {}", translationJob.getId(), error.getMessage());
+                return Mono.empty();
+            })
+            .doFinally(signal -> running.decrementAndGet())
+            .then();
+    }
+
+    /**
+     * Renews the lock of a running job every third of the lease.
+     *
+     * @return a {@link Mono} emitting if the job was claimed by another instance in the meantime.
+     */
+    private Mono<Integer> leaseLost(TranslationJob translationJob) {
+        Duration lease = properties.getLease();
+        return Flux
+            .interval(lease.dividedBy(3))
+            .concatMap(tick -> {
+                Instant now = Instant.now();
+                return translationJobRepository
+                    .renew(translationJob.getId(), owner, now, now.plus(lease))
+                    .onErrorResume(error -> {
+                        log.warn("Could not renew the lock of TranslationJob {}: {}", translationJob.getId(), error.getMessage());
+                        return Mono.empty();
+                    });
+            })
+            .filter(updated -> updated == 0)
+            .next();
+    }
+
+    private TranslationJobStatus retryStatus(TranslationJob translationJob, Throwable error) {
+        boolean retryable = !(error instanceof TranslationProviderException) || ((TranslationProviderException) error).isRetryable();
+        return retryable && translationJob.getAttempts() < properties.getMaxAttempts()
+            ? TranslationJobStatus.PENDING
+            : TranslationJobStatus.FAILED;
+    }
+
+    private Mono<Integer> release(TranslationJob translationJob, TranslationJobStatus status, String errorMessage) {
+        log.debug("Releasing TranslationJob {} as {}: {}", translationJob.getId(), status, errorMessage);
+        String message = errorMessage != null && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH
+            ? errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH)
+            : errorMessage;
+        return translationJobRepository.release(translationJob.getId(), owner, status.name(), message, Instant.now());
+    }
+}
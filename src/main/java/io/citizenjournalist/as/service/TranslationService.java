@@ -1,6 +1,8 @@
 package io.citizenjournalist.as.service;
 
+import io.citizenjournalist.as.service.dto.MultiLanguageTranslationDTO;
 import io.citizenjournalist.as.service.dto.TranslationDTO;
+import io.citizenjournalist.as.service.dto.TranslationProgressDTO;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -13,10 +15,36 @@ public interface TranslationService {
      * Save a translation.
      *
      * @param translationDTO the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, without id when it is buffered to be inserted in the background.
      */
     Mono<TranslationDTO> save(TranslationDTO translationDTO);
 
+    /**
+     * Save a translation, reporting the translated segments of its output text as they arrive.
+     *
+     * @param translationDTO the entity to save.
+     * @return the translated segments in their original order, followed by the entity, persisted if requested, with its id.
+     */
+    Flux<TranslationProgressDTO> saveProgressively(TranslationDTO translationDTO);
+
+    /**
+     * Save a stream of translations.
+     *
+     * @param translationDTOs the entities to save.
+     * @return the entities, in completion order, persisted if requested, or carrying an error and not persisted if their
+     * text could not be translated.
+     */
+    Flux<TranslationDTO> saveAll(Flux<TranslationDTO> translationDTOs);
+
+    /**
+     * Translate one input text into several languages.
+     *
+     * @param multiLanguageTranslationDTO the input text and the target languages.
+     * @return one entity per target language, persisted if requested, or carrying an error and not persisted if the text
+     * could not be translated into that language.
+     */
+    Flux<TranslationDTO> saveInLanguages(MultiLanguageTranslationDTO multiLanguageTranslationDTO);
+
     /**
      * Updates a translation.
      *
@@ -0,0 +1,91 @@
+package io.citizenjournalist.as.service.dto;
+
+import io.citizenjournalist.as.domain.enumeration.Language;
+import java.io.Serializable;
+import java.util.Objects;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link io.citizenjournalist.as.domain.GlossaryTerm} entity.
+ * <p>
+ * Without a {@code replacement}, the term is kept as is in translations; without a {@code language}, it applies to
+ * every target language.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class GlossaryTermDTO implements Serializable {
+
+    private Long id;
+
+    @NotNull(message = "must not be null")
+    @Size(min = 1, max = 255)
+    private String term;
+
+    @Size(max = 255)
+    private String replacement;
+
+    private Language language;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public String getReplacement() {
+        return replacement;
+    }
+
+    public void setReplacement(String replacement) {
+        this.replacement = replacement;
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(Language language) {
+        this.language = language;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GlossaryTermDTO)) {
+            return false;
+        }
+
+        GlossaryTermDTO glossaryTermDTO = (GlossaryTermDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, glossaryTermDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GlossaryTermDTO{" +
+            "id=" + getId() +
+            ", term='" + getTerm() + "'" +
+            ", replacement='" + getReplacement() + "'" +
+            ", language='" + getLanguage() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,55 @@
+package io.citizenjournalist.as.service.dto;
+
+import io.citizenjournalist.as.domain.enumeration.Language;
+import java.io.Serializable;
+import java.util.Set;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO requesting the translation of one input text into several {@link Language}s.
+ */
+public class MultiLanguageTranslationDTO implements Serializable {
+
+    @NotNull(message = "must not be null")
+    private String inputText;
+
+    @NotEmpty(message = "must not be empty")
+    private Set<Language> languages;
+
+    @NotNull(message = "must not be null")
+    private Boolean persist;
+
+    public String getInputText() {
+        return inputText;
+    }
+
+    public void setInputText(String inputText) {
+        this.inputText = inputText;
+    }
+
+    public Set<Language> getLanguages() {
+        return languages;
+    }
+
+    public void setLanguages(Set<Language> languages) {
+        this.languages = languages;
+    }
+
+    public Boolean getPersist() {
+        return persist;
+    }
+
+    public void setPersist(Boolean persist) {
+        this.persist = persist;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MultiLanguageTranslationDTO{" +
+            "inputText='" + getInputText() + "'" +
+            ", languages='" + getLanguages() + "'" +
+            ", persist='" + getPersist() + "'" +
+            "}";
+    }
+}
@@ -28,6 +28,24 @@ public class TranslationDTO implements Serializable {
     @Lob
     private String outputText;
 
+    /**
+     * Format of the input and output texts, {@code text/plain} when not set. In {@code text/html}, only the text between
+     * tags is translated and the markup is kept as is.
+     */
+    @Pattern(regexp = "text/plain|text/html")
+    private String mimeType;
+
+    /**
+     * Set when the output is an earlier translation served because the provider was unavailable.
+     */
+    private Boolean stale;
+
+    /**
+     * Set, in a stream of translations, when the input text could not be translated: the reason of the failure. The output
+     * text is then not set, and the translation is not persisted.
+     */
+    private String error;
+
     public Long getId() {
         return id;
     }
@@ -76,6 +94,30 @@ public class TranslationDTO implements Serializable {
         this.outputText = outputText;
     }
 
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public Boolean getStale() {
+        return stale;
+    }
+
+    public void setStale(Boolean stale) {
+        this.stale = stale;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -107,6 +149,9 @@ public class TranslationDTO implements Serializable {
             ", persist='" + getPersist() + "'" +
             ", detectedLanguage='" + getDetectedLanguage() + "'" +
             ", outputText='" + getOutputText() + "'" +
+            ", mimeType='" + getMimeType() + "'" +
+            ", stale='" + getStale() + "'" +
+            ", error='" + getError() + "'" +
             "}";
     }
 }
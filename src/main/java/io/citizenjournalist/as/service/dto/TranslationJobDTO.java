@@ -0,0 +1,151 @@
+package io.citizenjournalist.as.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.citizenjournalist.as.domain.enumeration.TranslationJobStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import javax.persistence.Lob;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link io.citizenjournalist.as.domain.TranslationJob} entity.
+ * <p>
+ * The input text is only accepted when submitting a job; once {@code status} is {@code DONE}, the result is the
+ * translation identified by {@code translationId}.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class TranslationJobDTO implements Serializable {
+
+    private Long id;
+
+    @Lob
+    @NotNull(message = "must not be null")
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String inputText;
+
+    @NotNull(message = "must not be null")
+    private Language language;
+
+    private TranslationJobStatus status;
+
+    private Integer attempts;
+
+    private Long translationId;
+
+    private String errorMessage;
+
+    private Instant createdDate;
+
+    private Instant lastModifiedDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getInputText() {
+        return inputText;
+    }
+
+    public void setInputText(String inputText) {
+        this.inputText = inputText;
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(Language language) {
+        this.language = language;
+    }
+
+    public TranslationJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TranslationJobStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Long getTranslationId() {
+        return translationId;
+    }
+
+    public void setTranslationId(Long translationId) {
+        this.translationId = translationId;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TranslationJobDTO)) {
+            return false;
+        }
+
+        TranslationJobDTO translationJobDTO = (TranslationJobDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, translationJobDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TranslationJobDTO{" +
+            "id=" + getId() +
+            ", inputText='" + getInputText() + "'" +
+            ", language='" + getLanguage() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", attempts=" + getAttempts() +
+            ", translationId=" + getTranslationId() +
+            ", errorMessage='" + getErrorMessage() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", lastModifiedDate='" + getLastModifiedDate() + "'" +
+            "}";
+    }
+}
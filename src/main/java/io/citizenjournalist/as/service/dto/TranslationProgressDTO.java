@@ -0,0 +1,69 @@
+package io.citizenjournalist.as.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+
+/**
+ * A DTO reporting the progress of a translation: either a translated segment of the output text, or the finished
+ * {@link TranslationDTO}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TranslationProgressDTO implements Serializable {
+
+    private Integer segment;
+
+    private String outputText;
+
+    private TranslationDTO translation;
+
+    public static TranslationProgressDTO segment(int segment, String outputText) {
+        TranslationProgressDTO translationProgressDTO = new TranslationProgressDTO();
+        translationProgressDTO.setSegment(segment);
+        translationProgressDTO.setOutputText(outputText);
+        return translationProgressDTO;
+    }
+
+    public static TranslationProgressDTO finished(TranslationDTO translation) {
+        TranslationProgressDTO translationProgressDTO = new TranslationProgressDTO();
+        translationProgressDTO.setTranslation(translation);
+        return translationProgressDTO;
+    }
+
+    public Integer getSegment() {
+        return segment;
+    }
+
+    public void setSegment(Integer segment) {
+        this.segment = segment;
+    }
+
+    public String getOutputText() {
+        return outputText;
+    }
+
+    public void setOutputText(String outputText) {
+        this.outputText = outputText;
+    }
+
+    public TranslationDTO getTranslation() {
+        return translation;
+    }
+
+    public void setTranslation(TranslationDTO translation) {
+        this.translation = translation;
+    }
+
+    public boolean isFinished() {
+        return translation != null;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TranslationProgressDTO{" +
+            "segment=" + getSegment() +
+            ", outputText='" + getOutputText() + "'" +
+            ", translation=" + getTranslation() +
+            "}";
+    }
+}
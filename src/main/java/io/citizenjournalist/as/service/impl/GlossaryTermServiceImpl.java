@@ -0,0 +1,145 @@
+package io.citizenjournalist.as.service.impl;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.GlossaryTerm;
+import io.citizenjournalist.as.repository.GlossaryTermRepository;
+import io.citizenjournalist.as.service.GlossaryTermService;
+import io.citizenjournalist.as.service.dto.GlossaryTermDTO;
+import io.citizenjournalist.as.service.mapper.GlossaryTermMapper;
+import io.citizenjournalist.as.service.translation.Glossary;
+import io.citizenjournalist.as.service.translation.SegmentCache;
+import io.citizenjournalist.as.service.translation.TranslationCache;
+import java.time.Duration;
+import java.util.Objects;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for managing {@link GlossaryTerm}.
+ * <p>
+ * The {@link Glossary} used by translations is reloaded after every change, and periodically to pick up the changes
+ * made through other instances. When the terms changed, the cached translations, made with the previous terms, are
+ * dropped.
+ */
+@Service
+public class GlossaryTermServiceImpl implements GlossaryTermService {
+
+    private final Logger log = LoggerFactory.getLogger(GlossaryTermServiceImpl.class);
+
+    private final GlossaryTermRepository glossaryTermRepository;
+
+    private final GlossaryTermMapper glossaryTermMapper;
+
+    private final Glossary glossary;
+
+    private final TranslationCache translationCache;
+
+    private final SegmentCache segmentCache;
+
+    private final ApplicationProperties.Translation.Glossary properties;
+
+    private volatile Disposable refreshing;
+
+    public GlossaryTermServiceImpl(
+        GlossaryTermRepository glossaryTermRepository,
+        GlossaryTermMapper glossaryTermMapper,
+        Glossary glossary,
+        TranslationCache translationCache,
+        SegmentCache segmentCache,
+        ApplicationProperties applicationProperties
+    ) {
+        this.glossaryTermRepository = glossaryTermRepository;
+        this.glossaryTermMapper = glossaryTermMapper;
+        this.glossary = glossary;
+        this.translationCache = translationCache;
+        this.segmentCache = segmentCache;
+        this.properties = applicationProperties.getTranslation().getGlossary();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        refreshing =
+            Flux
+                .interval(Duration.ZERO, properties.getRefreshInterval())
+                .onBackpressureDrop()
+                .concatMap(
+                    tick ->
+                        reload()
+                            .onErrorResume(error -> {
+                                log.warn("Could not reload the glossary: {}", error.getMessage());
+                                return Mono.empty();
+                            }),
+                    1
+                )
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refreshing != null) {
+            refreshing.dispose();
+        }
+    }
+
+    @Override
+    public Mono<GlossaryTermDTO> save(GlossaryTermDTO glossaryTermDTO) {
+        log.debug("Request to save GlossaryTerm : {}", glossaryTermDTO);
+        return glossaryTermRepository
+            .save(glossaryTermMapper.toEntity(glossaryTermDTO))
+            .map(glossaryTermMapper::toDto)
+            .flatMap(saved -> reload().thenReturn(saved));
+    }
+
+    @Override
+    public Mono<GlossaryTermDTO> update(GlossaryTermDTO glossaryTermDTO) {
+        log.debug("Request to update GlossaryTerm : {}", glossaryTermDTO);
+        return save(glossaryTermDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<GlossaryTermDTO> findAll() {
+        log.debug("Request to get all GlossaryTerms");
+        return glossaryTermRepository.findAll().map(glossaryTermMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<GlossaryTermDTO> findOne(Long id) {
+        log.debug("Request to get GlossaryTerm : {}", id);
+        return glossaryTermRepository.findById(id).map(glossaryTermMapper::toDto);
+    }
+
+    @Override
+    public Mono<Void> delete(Long id) {
+        log.debug("Request to delete GlossaryTerm : {}", id);
+        return glossaryTermRepository.deleteById(id).then(reload());
+    }
+
+    private Mono<Void> reload() {
+        return glossaryTermRepository
+            .findAll()
+            .collectList()
+            .doOnNext(glossaryTerms -> {
+                String previousVersion = glossary.version();
+                glossary.load(glossaryTerms);
+                if (!Objects.equals(previousVersion, glossary.version())) {
+                    log.debug("Glossary changed to version {}, dropping the cached translations", glossary.version());
+                    translationCache.invalidateAll();
+                    segmentCache.invalidateAll();
+                }
+            })
+            .then();
+    }
+}
@@ -0,0 +1,86 @@
+package io.citizenjournalist.as.service.impl;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.TranslationJob;
+import io.citizenjournalist.as.domain.enumeration.TranslationJobStatus;
+import io.citizenjournalist.as.repository.TranslationJobRepository;
+import io.citizenjournalist.as.service.TranslationJobService;
+import io.citizenjournalist.as.service.dto.TranslationJobDTO;
+import io.citizenjournalist.as.service.mapper.TranslationJobMapper;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for managing {@link TranslationJob}.
+ */
+@Service
+public class TranslationJobServiceImpl implements TranslationJobService {
+
+    private final Logger log = LoggerFactory.getLogger(TranslationJobServiceImpl.class);
+
+    private final TranslationJobRepository translationJobRepository;
+
+    private final TranslationJobMapper translationJobMapper;
+
+    private final ApplicationProperties.Translation.Job properties;
+
+    public TranslationJobServiceImpl(
+        TranslationJobRepository translationJobRepository,
+        TranslationJobMapper translationJobMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.translationJobRepository = translationJobRepository;
+        this.translationJobMapper = translationJobMapper;
+        this.properties = applicationProperties.getTranslation().getJob();
+    }
+
+    @Override
+    @Transactional
+    public Mono<TranslationJobDTO> submit(TranslationJobDTO translationJobDTO) {
+        log.debug("Request to submit TranslationJob : {}", translationJobDTO);
+        Instant now = Instant.now();
+        TranslationJob translationJob = translationJobMapper
+            .toEntity(translationJobDTO)
+            .status(TranslationJobStatus.PENDING)
+            .attempts(0)
+            .translationId(null)
+            .errorMessage(null)
+            .createdDate(now)
+            .lastModifiedDate(now);
+        return translationJobRepository.save(translationJob).map(translationJobMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<TranslationJobDTO> findOne(Long id) {
+        log.debug("Request to get TranslationJob : {}", id);
+        return translationJobRepository.findById(id).map(translationJobMapper::toDto);
+    }
+
+    @Override
+    public Mono<TranslationJobDTO> awaitFinished(Long id, Duration timeout) {
+        log.debug("Request to wait for TranslationJob : {}", id);
+        return findOne(id)
+            .flatMap(translationJobDTO -> {
+                if (isFinished(translationJobDTO) || timeout.isZero() || timeout.isNegative()) {
+                    return Mono.just(translationJobDTO);
+                }
+                return Flux
+                    .interval(properties.getPollInterval())
+                    .concatMap(tick -> findOne(id))
+                    .takeUntil(TranslationJobServiceImpl::isFinished)
+                    .take(timeout)
+                    .last(translationJobDTO);
+            });
+    }
+
+    private static boolean isFinished(TranslationJobDTO translationJobDTO) {
+        return translationJobDTO.getStatus() == TranslationJobStatus.DONE || translationJobDTO.getStatus() == TranslationJobStatus.FAILED;
+    }
+}
@@ -1,97 +1,473 @@
 package io.citizenjournalist.as.service.impl;
 
-import com.google.cloud.translate.v3beta1.LocationName;
-import com.google.cloud.translate.v3beta1.TranslateTextRequest;
-import com.google.cloud.translate.v3beta1.TranslationServiceClient;
+import io.citizenjournalist.as.config.ApplicationProperties;
 import io.citizenjournalist.as.domain.Translation;
 import io.citizenjournalist.as.repository.TranslationRepository;
 import io.citizenjournalist.as.service.TranslationService;
+import io.citizenjournalist.as.service.dto.MultiLanguageTranslationDTO;
 import io.citizenjournalist.as.service.dto.TranslationDTO;
+import io.citizenjournalist.as.service.dto.TranslationProgressDTO;
 import io.citizenjournalist.as.service.mapper.TranslationMapper;
+import io.citizenjournalist.as.service.translation.ChunkingTranslator;
+import io.citizenjournalist.as.service.translation.Glossary;
+import io.citizenjournalist.as.service.translation.InFlightTranslations;
+import io.citizenjournalist.as.service.translation.LanguageIdentifier;
+import io.citizenjournalist.as.service.translation.TranslatedText;
+import io.citizenjournalist.as.service.translation.TranslationCache;
+import io.citizenjournalist.as.service.translation.TranslationKey;
+import io.citizenjournalist.as.service.translation.TranslationMemory;
+import io.citizenjournalist.as.service.translation.TranslationPriority;
+import io.citizenjournalist.as.service.translation.TranslationProviderException;
+import io.citizenjournalist.as.service.translation.TranslationRateLimitExceededException;
+import io.citizenjournalist.as.service.translation.TranslationUnavailableException;
+import io.citizenjournalist.as.service.translation.TranslationWriteBehind;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
 
 /**
  * Service Implementation for managing {@link Translation}.
+ * <p>
+ * Writes which involve a provider call are not transactional as a whole: the translation is resolved first, and only
+ * the final write runs in a transaction, so a database connection is never held while waiting on the provider.
+ * <p>
+ * Each provider call goes through a circuit breaker with a deadline, which leaves out the time the call waits to be
+ * sent. When the breaker is open or a call exceeds its deadline, the last known translation of the content is served
+ * and marked stale, and is neither cached nor persisted, even if requested. Texts identified locally as being in their
+ * target language already are returned unchanged without calling the provider.
+ * <p>
+ * A text similar to a persisted one, typically an edited version of it, reuses the translations of the sentences found
+ * in the {@link TranslationMemory}, which is kept up to date as translations are saved and deleted. Editing or deleting
+ * a translation also evicts the cached translation of its content.
+ * <p>
+ * Texts are plain unless their DTO sets the {@code text/html} mime type, in which case only their text runs are
+ * translated. The language check and the translation memory only apply to plain texts.
+ * <p>
+ * A translation saved {@link #saveProgressively progressively} reports the segments translated by the provider as they
+ * arrive. It does not join an identical translation in flight, and a text found in the memory arrives as one segment.
+ * <p>
+ * Texts translated {@link #saveAll in a stream} or {@link #saveInLanguages into several languages} fail one by one: a
+ * text which cannot be translated, because the provider failed, is unavailable or sheds load, is returned with the
+ * reason in its {@code error} and is not persisted, while the others are translated as usual.
+ * <p>
+ * With {@link TranslationWriteBehind write-behind} enabled, new translations are returned without id once buffered, and
+ * inserted in batches afterwards. Translations of the {@link TranslationPriority#BACKGROUND background} priority are
+ * still inserted right away, as the jobs record the id of their translation.
  */
 @Service
-@Transactional
 public class TranslationServiceImpl implements TranslationService {
 
+    private static final String PLAIN_TEXT = "text/plain";
+
     private final Logger log = LoggerFactory.getLogger(TranslationServiceImpl.class);
 
     private final TranslationRepository translationRepository;
 
     private final TranslationMapper translationMapper;
 
-    private final TranslationServiceClient translationServiceClient;
+    private final TranslationCache translationCache;
+
+    private final InFlightTranslations inFlightTranslations;
+
+    private final ChunkingTranslator chunkingTranslator;
+
+    private final LanguageIdentifier languageIdentifier;
+
+    private final TranslationMemory translationMemory;
+
+    private final Glossary glossary;
+
+    private final TranslationWriteBehind translationWriteBehind;
+
+    private final ApplicationProperties.Translation.Bulk bulkProperties;
+
+    private final ApplicationProperties.Translation.FanOut fanOutProperties;
 
-    private final LocationName parent;
+    private final TransactionalOperator transactionalOperator;
+
+    private final MeterRegistry meterRegistry;
 
     public TranslationServiceImpl(
-        @Value("${google.project-id}") String projectId,
         TranslationRepository translationRepository,
         TranslationMapper translationMapper,
-        TranslationServiceClient translationServiceClient
+        TranslationCache translationCache,
+        InFlightTranslations inFlightTranslations,
+        ChunkingTranslator chunkingTranslator,
+        LanguageIdentifier languageIdentifier,
+        TranslationMemory translationMemory,
+        Glossary glossary,
+        TranslationWriteBehind translationWriteBehind,
+        ApplicationProperties applicationProperties,
+        TransactionalOperator transactionalOperator,
+        MeterRegistry meterRegistry
     ) {
         this.translationRepository = translationRepository;
         this.translationMapper = translationMapper;
-        this.translationServiceClient = translationServiceClient;
-        this.parent = LocationName.of(projectId, "global");
+        this.translationCache = translationCache;
+        this.inFlightTranslations = inFlightTranslations;
+        this.chunkingTranslator = chunkingTranslator;
+        this.languageIdentifier = languageIdentifier;
+        this.translationMemory = translationMemory;
+        this.glossary = glossary;
+        this.translationWriteBehind = translationWriteBehind;
+        this.bulkProperties = applicationProperties.getTranslation().getBulk();
+        this.fanOutProperties = applicationProperties.getTranslation().getFanOut();
+        this.transactionalOperator = transactionalOperator;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public Mono<TranslationDTO> save(TranslationDTO translationDTO) {
         log.debug("Request to save Translation : {}", translationDTO);
+        return translateInto(translationDTO)
+            .flatMap(translated -> isToStore(translated) ? store("save", translated) : Mono.just(translated));
+    }
 
-        var request = TranslateTextRequest
-            .newBuilder()
-            .setParent(parent.toString())
-            .setMimeType("text/plain")
-            .setTargetLanguageCode(translationDTO.getLanguage().getShortName())
-            .addContents(translationDTO.getInputText())
-            .build();
-        return Mono
-            .fromCallable(() -> translationServiceClient.translateText(request))
-            .subscribeOn(Schedulers.boundedElastic())
-            .flatMap(translateTextResponse -> {
-                var translation = translateTextResponse.getTranslations(0);
-                translationDTO.setDetectedLanguage(translation.getDetectedLanguageCode());
-                translationDTO.setOutputText(translation.getTranslatedText());
-                if (!translationDTO.getPersist()) {
-                    return Mono.just(translationDTO);
-                } else {
-                    return translationRepository.save(translationMapper.toEntity(translationDTO)).map(translationMapper::toDto);
+    @Override
+    public Flux<TranslationProgressDTO> saveProgressively(TranslationDTO translationDTO) {
+        log.debug("Request to save Translation progressively : {}", translationDTO);
+        if (translationDTO.getMimeType() == null) {
+            translationDTO.setMimeType(PLAIN_TEXT);
+        }
+        var key = TranslationKey.of(translationDTO.getInputText(), translationDTO.getLanguage(), translationDTO.getMimeType());
+        return Flux.defer(() -> {
+            List<TranslatedText> segments = new ArrayList<>();
+            return translationCache
+                .get(key)
+                .map(Flux::just)
+                .orElseGet(() ->
+                    findPersisted(key, translationDTO).flux().switchIfEmpty(Flux.defer(() -> translateProgressively(key, translationDTO)))
+                )
+                .doOnNext(segments::add)
+                .map(segment -> TranslationProgressDTO.segment(segments.size() - 1, segment.getText()))
+                .concatWith(Mono.defer(() -> finish(key, translationDTO, concat(segments))));
+        });
+    }
+
+    /**
+     * Caches the translation of a text streamed segment by segment, then saves it like {@link #save}, but without
+     * write-behind: the client is streamed the text already, so it waits for the id of the new translation rather than
+     * for its output text.
+     */
+    private Mono<TranslationProgressDTO> finish(TranslationKey key, TranslationDTO translationDTO, TranslatedText translatedText) {
+        if (!translatedText.isStale()) {
+            translationCache.put(key, translatedText);
+        }
+        fill(translationDTO, translatedText);
+        Mono<TranslationDTO> saved = isToStore(translationDTO)
+            ? inTransaction("save", persist(translationDTO))
+            : Mono.just(translationDTO);
+        return saved.map(TranslationProgressDTO::finished);
+    }
+
+    @Override
+    public Flux<TranslationDTO> saveAll(Flux<TranslationDTO> translationDTOs) {
+        log.debug("Request to save a stream of Translations");
+        return translationDTOs
+            .flatMap(this::translateOrReport, bulkProperties.getConcurrency())
+            .publish(translated ->
+                Flux.merge(
+                    translated.filter(translationDTO -> !isToStore(translationDTO)),
+                    translated
+                        .filter(TranslationServiceImpl::isToStore)
+                        // unlike bufferTimeout, fair windows are only opened on demand, so a slow client slows the translations down
+                        .windowTimeout(bulkProperties.getPersistBatchSize(), bulkProperties.getPersistWindow(), true)
+                        .concatMap(window ->
+                            window.collectList().flatMapMany(batch -> batch.isEmpty() ? Flux.empty() : storeAll("saveAll", batch))
+                        )
+                )
+            );
+    }
+
+    @Override
+    public Flux<TranslationDTO> saveInLanguages(MultiLanguageTranslationDTO multiLanguageTranslationDTO) {
+        log.debug("Request to save Translations in several languages : {}", multiLanguageTranslationDTO);
+        return Flux
+            .fromIterable(new TreeSet<>(multiLanguageTranslationDTO.getLanguages()))
+            .map(language -> {
+                TranslationDTO translationDTO = new TranslationDTO();
+                translationDTO.setInputText(multiLanguageTranslationDTO.getInputText());
+                translationDTO.setLanguage(language);
+                translationDTO.setPersist(multiLanguageTranslationDTO.getPersist());
+                return translationDTO;
+            })
+            .flatMapSequential(this::translateOrReport, fanOutProperties.getConcurrency())
+            .collectList()
+            .flatMapMany(translationDTOs -> {
+                List<TranslationDTO> toStore = translationDTOs
+                    .stream()
+                    .filter(TranslationServiceImpl::isToStore)
+                    .collect(Collectors.toList());
+                if (toStore.isEmpty()) {
+                    return Flux.fromIterable(translationDTOs);
                 }
+                return storeAll("saveInLanguages", toStore)
+                    .collectList()
+                    .flatMapIterable(stored -> {
+                        // stored in order, each put back in place of the DTO it was made from
+                        Iterator<TranslationDTO> next = stored.iterator();
+                        return translationDTOs
+                            .stream()
+                            .map(translationDTO -> isToStore(translationDTO) ? next.next() : translationDTO)
+                            .collect(Collectors.toList());
+                    });
             });
     }
 
+    /**
+     * Translates like {@link #translateInto}, but reports a failure to translate in the DTO instead of failing, so that
+     * one text does not fail the others translated along with it. Other failures, such as database errors, still fail.
+     */
+    private Mono<TranslationDTO> translateOrReport(TranslationDTO translationDTO) {
+        return translateInto(translationDTO)
+            .onErrorResume(
+                TranslationServiceImpl::isTranslationFailure,
+                error -> {
+                    log.warn("Could not translate into {}: {}", translationDTO.getLanguage(), error.getMessage());
+                    translationDTO.setError(error.getMessage());
+                    return Mono.just(translationDTO);
+                }
+            );
+    }
+
+    private static boolean isTranslationFailure(Throwable error) {
+        return (
+            error instanceof TranslationProviderException ||
+            error instanceof TranslationRateLimitExceededException ||
+            error instanceof TranslationUnavailableException
+        );
+    }
+
+    /**
+     * Whether a translation is to be persisted: if requested, and only once translated afresh. A stale translation is
+     * returned but neither persisted nor cached, so that it is not served later as if it were fresh.
+     */
+    private static boolean isToStore(TranslationDTO translationDTO) {
+        return translationDTO.getPersist() && translationDTO.getError() == null && translationDTO.getStale() == null;
+    }
+
+    /**
+     * Resolves the translation of the input text and fills in the output fields of the given DTO.
+     */
+    private Mono<TranslationDTO> translateInto(TranslationDTO translationDTO) {
+        if (translationDTO.getMimeType() == null) {
+            translationDTO.setMimeType(PLAIN_TEXT);
+        }
+        var key = TranslationKey.of(translationDTO.getInputText(), translationDTO.getLanguage(), translationDTO.getMimeType());
+        return translationCache
+            .get(key)
+            .map(Mono::just)
+            .orElseGet(() ->
+                inFlightTranslations.join(
+                    key,
+                    () ->
+                        findPersisted(key, translationDTO)
+                            .switchIfEmpty(Mono.defer(() -> translate(key, translationDTO)))
+                            .doOnNext(translatedText -> {
+                                if (!translatedText.isStale()) {
+                                    translationCache.put(key, translatedText);
+                                }
+                            })
+                )
+            )
+            .map(translatedText -> fill(translationDTO, translatedText));
+    }
+
+    private static TranslationDTO fill(TranslationDTO translationDTO, TranslatedText translatedText) {
+        translationDTO.setDetectedLanguage(translatedText.getDetectedLanguage());
+        translationDTO.setOutputText(translatedText.getText());
+        translationDTO.setStale(translatedText.isStale() ? Boolean.TRUE : null);
+        return translationDTO;
+    }
+
+    /**
+     * Persists a new translation, in the background with write-behind.
+     */
+    private Mono<TranslationDTO> store(String operation, TranslationDTO translationDTO) {
+        return Mono.deferContextual(context -> {
+            if (!writesBehind(context)) {
+                return inTransaction(operation, persist(translationDTO));
+            }
+            Translation translation = withLookupKey(translationMapper.toEntity(translationDTO));
+            return translationWriteBehind.write(List.of(translation)).thenReturn(translationDTO);
+        });
+    }
+
+    private Flux<TranslationDTO> storeAll(String operation, List<TranslationDTO> translationDTOs) {
+        return Flux.deferContextual(context -> {
+            if (!writesBehind(context)) {
+                return inTransaction(operation, persistAll(translationDTOs));
+            }
+            List<Translation> translations = translationMapper.toEntity(translationDTOs);
+            translations.forEach(this::withLookupKey);
+            return translationWriteBehind.write(translations).thenMany(Flux.fromIterable(translationDTOs));
+        });
+    }
+
+    private boolean writesBehind(ContextView context) {
+        return translationWriteBehind.isEnabled() && TranslationPriority.of(context) != TranslationPriority.BACKGROUND;
+    }
+
+    private Mono<TranslationDTO> persist(TranslationDTO translationDTO) {
+        return translationRepository
+            .save(withLookupKey(translationMapper.toEntity(translationDTO)))
+            .doOnNext(translationMemory::add)
+            .map(translationMapper::toDto);
+    }
+
+    private Flux<TranslationDTO> persistAll(List<TranslationDTO> translationDTOs) {
+        List<Translation> translations = translationMapper.toEntity(translationDTOs);
+        translations.forEach(this::withLookupKey);
+        return translationRepository.saveAll(translations).doOnNext(translationMemory::add).map(translationMapper::toDto);
+    }
+
+    /**
+     * Looks up a translation of the same content into the same language, made with the same glossary, that was persisted
+     * earlier.
+     */
+    private Mono<TranslatedText> findPersisted(TranslationKey key, TranslationDTO translationDTO) {
+        return translationRepository
+            .findLatestByContentHashAndLanguageAndMimeTypeAndGlossaryVersion(
+                key.getContentHash(),
+                translationDTO.getLanguage(),
+                key.getMimeType(),
+                glossary.version()
+            )
+            .map(translation -> new TranslatedText(translation.getOutputText(), translation.getDetectedLanguage()));
+    }
+
+    private Mono<TranslatedText> translate(TranslationKey key, TranslationDTO translationDTO) {
+        String targetLanguage = translationDTO.getLanguage().getShortName();
+        Mono<TranslatedText> translation;
+        if (!PLAIN_TEXT.equals(translationDTO.getMimeType())) {
+            translation = chunkingTranslator.translate(translationDTO.getInputText(), targetLanguage, translationDTO.getMimeType());
+        } else if (languageIdentifier.isAlreadyIn(translationDTO.getInputText(), translationDTO.getLanguage())) {
+            return Mono.just(new TranslatedText(translationDTO.getInputText(), targetLanguage));
+        } else {
+            translation =
+                translationMemory
+                    .find(translationDTO.getInputText(), translationDTO.getLanguage())
+                    .map(match -> match.translate(sentence -> chunkingTranslator.translate(sentence, targetLanguage, PLAIN_TEXT)))
+                    .orElseGet(() -> chunkingTranslator.translate(translationDTO.getInputText(), targetLanguage, PLAIN_TEXT));
+        }
+        return translation.onErrorResume(error -> fallback(key, error));
+    }
+
+    /**
+     * Translates a text like {@link #translate}, segment by segment when it goes to the provider. The last known
+     * translation is served only if the provider becomes unavailable before the first segment.
+     */
+    private Flux<TranslatedText> translateProgressively(TranslationKey key, TranslationDTO translationDTO) {
+        String targetLanguage = translationDTO.getLanguage().getShortName();
+        Flux<TranslatedText> translation;
+        if (!PLAIN_TEXT.equals(translationDTO.getMimeType())) {
+            translation =
+                chunkingTranslator.translateProgressively(translationDTO.getInputText(), targetLanguage, translationDTO.getMimeType());
+        } else if (languageIdentifier.isAlreadyIn(translationDTO.getInputText(), translationDTO.getLanguage())) {
+            return Flux.just(new TranslatedText(translationDTO.getInputText(), targetLanguage));
+        } else {
+            translation =
+                translationMemory
+                    .find(translationDTO.getInputText(), translationDTO.getLanguage())
+                    .map(match -> match.translate(sentence -> chunkingTranslator.translate(sentence, targetLanguage, PLAIN_TEXT)).flux())
+                    .orElseGet(() -> chunkingTranslator.translateProgressively(translationDTO.getInputText(), targetLanguage, PLAIN_TEXT));
+        }
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return translation
+                .doOnNext(segment -> emitted.set(true))
+                .onErrorResume(error -> emitted.get() ? Flux.error(error) : fallback(key, error).flux());
+        });
+    }
+
+    /**
+     * Concatenates the translated segments of a text. The detected language is the one of the longest segment.
+     */
+    private static TranslatedText concat(List<TranslatedText> segments) {
+        StringBuilder text = new StringBuilder();
+        segments.forEach(segment -> text.append(segment.getText()));
+        String detectedLanguage = segments
+            .stream()
+            .filter(segment -> segment.getDetectedLanguage() != null)
+            .max(Comparator.comparingInt(segment -> segment.getText().length()))
+            .map(TranslatedText::getDetectedLanguage)
+            .orElse(null);
+        TranslatedText translatedText = new TranslatedText(text.toString(), detectedLanguage);
+        return segments.stream().anyMatch(TranslatedText::isStale) ? translatedText.asStale() : translatedText;
+    }
+
+    /**
+     * Serves the last known translation when the provider is unavailable, and fails fast without one.
+     */
+    private Mono<TranslatedText> fallback(TranslationKey key, Throwable error) {
+        if (!(error instanceof CallNotPermittedException) && !(error instanceof TimeoutException)) {
+            return Mono.error(error);
+        }
+        log.warn("Translation provider unavailable: {}", error.getMessage());
+        return translationCache
+            .getStale(key)
+            .map(Mono::just)
+            .orElseGet(() -> Mono.error(new TranslationUnavailableException(error)));
+    }
+
     @Override
     public Mono<TranslationDTO> update(TranslationDTO translationDTO) {
         log.debug("Request to update Translation : {}", translationDTO);
-        return translationRepository.save(translationMapper.toEntity(translationDTO)).map(translationMapper::toDto);
+        return Mono.defer(() -> {
+            List<TranslationKey> replaced = new ArrayList<>();
+            return inTransaction(
+                "update",
+                translationRepository
+                    .findById(translationDTO.getId())
+                    .doOnNext(existingTranslation -> keyOf(existingTranslation).ifPresent(replaced::add))
+                    .then(persist(translationDTO))
+                    .doOnNext(updated -> keyOf(translationMapper.toEntity(updated)).ifPresent(replaced::add))
+            )
+                .doOnNext(updated -> replaced.forEach(translationCache::evict));
+        });
     }
 
     @Override
     public Mono<TranslationDTO> partialUpdate(TranslationDTO translationDTO) {
         log.debug("Request to partially update Translation : {}", translationDTO);
 
-        return translationRepository
-            .findById(translationDTO.getId())
-            .map(existingTranslation -> {
-                translationMapper.partialUpdate(existingTranslation, translationDTO);
+        return Mono.defer(() -> {
+            List<TranslationKey> replaced = new ArrayList<>();
+            return inTransaction(
+                "partialUpdate",
+                translationRepository
+                    .findById(translationDTO.getId())
+                    .map(existingTranslation -> {
+                        keyOf(existingTranslation).ifPresent(replaced::add);
+                        translationMapper.partialUpdate(existingTranslation, translationDTO);
 
-                return existingTranslation;
-            })
-            .flatMap(translationRepository::save)
-            .map(translationMapper::toDto);
+                        return withLookupKey(existingTranslation);
+                    })
+                    .flatMap(translationRepository::save)
+                    .doOnNext(translationMemory::add)
+                    .doOnNext(updated -> keyOf(updated).ifPresent(replaced::add))
+                    .map(translationMapper::toDto)
+            )
+                .doOnNext(updated -> replaced.forEach(translationCache::evict));
+        });
     }
 
     @Override
@@ -115,6 +491,65 @@ public class TranslationServiceImpl implements TranslationService {
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Translation : {}", id);
-        return translationRepository.deleteById(id);
+        return Mono.defer(() -> {
+            List<TranslationKey> deleted = new ArrayList<>();
+            return inTransaction(
+                "delete",
+                translationRepository
+                    .findById(id)
+                    .doOnNext(existingTranslation -> keyOf(existingTranslation).ifPresent(deleted::add))
+                    .then(translationRepository.deleteById(id))
+            )
+                .doOnSuccess(done -> {
+                    translationMemory.remove(id);
+                    deleted.forEach(translationCache::evict);
+                });
+        });
+    }
+
+    /**
+     * The cache key of the content of a translation, whose cached translation is evicted once an edit or a deletion of
+     * the translation is committed, so that the persisted one is looked up again.
+     */
+    private static Optional<TranslationKey> keyOf(Translation translation) {
+        if (translation.getInputText() == null || translation.getLanguage() == null) {
+            return Optional.empty();
+        }
+        String mimeType = translation.getMimeType() != null ? translation.getMimeType() : PLAIN_TEXT;
+        return Optional.of(TranslationKey.of(translation.getInputText(), translation.getLanguage(), mimeType));
+    }
+
+    /**
+     * Runs the given database work in a transaction, recording how long it held the connection.
+     */
+    private <T> Mono<T> inTransaction(String operation, Mono<T> work) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return transactionalOperator.transactional(work).doFinally(signal -> sample.stop(connectionHoldTimer(operation)));
+        });
+    }
+
+    private <T> Flux<T> inTransaction(String operation, Flux<T> work) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return transactionalOperator.transactional(work).doFinally(signal -> sample.stop(connectionHoldTimer(operation)));
+        });
+    }
+
+    private Timer connectionHoldTimer(String operation) {
+        return Timer
+            .builder("translation.db.connection.hold")
+            .description("Time a database connection is held by a transaction")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Sets the fields persisted translations are looked up by: the hash of the content and the glossary version.
+     */
+    private Translation withLookupKey(Translation translation) {
+        translation.setContentHash(translation.getInputText() != null ? TranslationKey.contentHash(translation.getInputText()) : null);
+        translation.setGlossaryVersion(glossary.version());
+        return translation;
     }
 }
@@ -0,0 +1,11 @@
+package io.citizenjournalist.as.service.mapper;
+
+import io.citizenjournalist.as.domain.GlossaryTerm;
+import io.citizenjournalist.as.service.dto.GlossaryTermDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link GlossaryTerm} and its DTO {@link GlossaryTermDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface GlossaryTermMapper extends EntityMapper<GlossaryTermDTO, GlossaryTerm> {}
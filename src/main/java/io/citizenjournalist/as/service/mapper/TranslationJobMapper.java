@@ -0,0 +1,23 @@
+package io.citizenjournalist.as.service.mapper;
+
+import io.citizenjournalist.as.domain.TranslationJob;
+import io.citizenjournalist.as.service.dto.TranslationJobDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link TranslationJob} and its DTO {@link TranslationJobDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface TranslationJobMapper extends EntityMapper<TranslationJobDTO, TranslationJob> {
+    @Override
+    @Mapping(target = "lockedBy", ignore = true)
+    @Mapping(target = "lockedUntil", ignore = true)
+    TranslationJob toEntity(TranslationJobDTO dto);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "lockedBy", ignore = true)
+    @Mapping(target = "lockedUntil", ignore = true)
+    void partialUpdate(@MappingTarget TranslationJob entity, TranslationJobDTO dto);
+}
@@ -8,4 +8,22 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Translation} and its DTO {@link TranslationDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface TranslationMapper extends EntityMapper<TranslationDTO, Translation> {}
+public interface TranslationMapper extends EntityMapper<TranslationDTO, Translation> {
+    @Override
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "glossaryVersion", ignore = true)
+    @Mapping(target = "mimeType", defaultValue = "text/plain")
+    Translation toEntity(TranslationDTO dto);
+
+    @Override
+    @Mapping(target = "stale", ignore = true)
+    @Mapping(target = "error", ignore = true)
+    TranslationDTO toDto(Translation entity);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "glossaryVersion", ignore = true)
+    void partialUpdate(@MappingTarget Translation entity, TranslationDTO dto);
+}
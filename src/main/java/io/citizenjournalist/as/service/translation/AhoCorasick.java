@@ -0,0 +1,117 @@
+package io.citizenjournalist.as.service.translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho–Corasick automaton finding all occurrences of a set of patterns in a text in a single pass.
+ * <p>
+ * The automaton is immutable once built, and may be shared by concurrent searches.
+ */
+final class AhoCorasick {
+
+    /**
+     * Receives the occurrences of the patterns.
+     */
+    interface MatchHandler {
+        /**
+         * @param pattern the index of the pattern.
+         * @param start the index of the first character of the occurrence.
+         * @param end the index following the last character of the occurrence.
+         */
+        void onMatch(int pattern, int start, int end);
+    }
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+
+    private final int[] patternLengths;
+
+    private final int[] fail;
+
+    /**
+     * The longest pattern ending at each node, or -1.
+     */
+    private final int[] output;
+
+    /**
+     * The nearest node along the failure links with an output, or -1.
+     */
+    private final int[] outputLink;
+
+    AhoCorasick(List<String> patterns) {
+        this.patternLengths = patterns.stream().mapToInt(String::length).toArray();
+        transitions.add(new HashMap<>());
+        List<Integer> outputs = new ArrayList<>(List.of(-1));
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            int node = 0;
+            for (int c = 0; c < pattern.length(); c++) {
+                Integer next = transitions.get(node).get(pattern.charAt(c));
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new HashMap<>());
+                    outputs.add(-1);
+                    transitions.get(node).put(pattern.charAt(c), next);
+                }
+                node = next;
+            }
+            if (!pattern.isEmpty() && outputs.get(node) < 0) {
+                outputs.set(node, i);
+            }
+        }
+        this.output = outputs.stream().mapToInt(Integer::intValue).toArray();
+        this.fail = new int[transitions.size()];
+        this.outputLink = new int[transitions.size()];
+        buildLinks();
+    }
+
+    /**
+     * Computes the failure and output links, breadth first.
+     */
+    private void buildLinks() {
+        Arrays.fill(outputLink, -1);
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            for (Map.Entry<Character, Integer> transition : transitions.get(node).entrySet()) {
+                int child = transition.getValue();
+                int state = fail[node];
+                while (state > 0 && !transitions.get(state).containsKey(transition.getKey())) {
+                    state = fail[state];
+                }
+                Integer target = transitions.get(state).get(transition.getKey());
+                fail[child] = target != null && target != child ? target : 0;
+                outputLink[child] = output[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Reports every occurrence of the patterns in a text, in the order of their end, longest first for the same end.
+     *
+     * @param text the text to search.
+     * @param handler receives the occurrences.
+     */
+    void search(String text, MatchHandler handler) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            while (next == null && state > 0) {
+                state = fail[state];
+                next = transitions.get(state).get(c);
+            }
+            state = next != null ? next : 0;
+            for (int node = output[state] >= 0 ? state : outputLink[state]; node >= 0; node = outputLink[node]) {
+                int pattern = output[node];
+                handler.onMatch(pattern, i + 1 - patternLengths[pattern], i + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Translates plain texts and HTML documents segment by segment.
+ * <p>
+ * Texts are split into sentences by a {@link TextChunker}, sentences above the configured size being cut further. Each
+ * sentence is looked up in the {@link SegmentCache}, and the unseen ones, deduplicated, are translated concurrently
+ * through the {@link TranslationBatcher}, which packs them into multi-content requests. The translated segments are
+ * joined in their original order. A segment failing with a retryable error is retried on its own. The terms of the
+ * {@link Glossary} are masked in each segment sent.
+ * <p>
+ * In HTML documents, only the sentences of the text runs between block tags are sent, as HTML so that character
+ * references are understood by the provider. Inline elements, such as links and emphasis, are kept within the sentences
+ * holding them, so that the provider can move them with the words they wrap. The document is rebuilt around their
+ * translations from the untouched markup.
+ * <p>
+ * Without the segment cache, only texts above the configured size are split, into chunks packing as many sentences
+ * as fit.
+ * <p>
+ * Texts can also be {@link #translateProgressively translated progressively}, for clients showing the translation as
+ * it arrives.
+ */
+@Component
+public class ChunkingTranslator {
+
+    private static final String PLAIN_TEXT = "text/plain";
+
+    private static final String HTML = "text/html";
+
+    private final TranslationBatcher translationBatcher;
+
+    private final SegmentCache segmentCache;
+
+    private final Glossary glossary;
+
+    private final ApplicationProperties.Translation.Chunk properties;
+
+    private final TextChunker textChunker;
+
+    public ChunkingTranslator(
+        TranslationBatcher translationBatcher,
+        SegmentCache segmentCache,
+        Glossary glossary,
+        ApplicationProperties applicationProperties
+    ) {
+        this.translationBatcher = translationBatcher;
+        this.segmentCache = segmentCache;
+        this.glossary = glossary;
+        this.properties = applicationProperties.getTranslation().getChunk();
+        this.textChunker = new TextChunker(properties.getMaxCharacters());
+    }
+
+    public Mono<TranslatedText> translate(String text, String targetLanguage, String mimeType) {
+        if (!HTML.equals(mimeType) && !PLAIN_TEXT.equals(mimeType)) {
+            return translationBatcher.translate(text, targetLanguage, mimeType);
+        }
+        List<TextSegment> segments = split(text, mimeType);
+        return translateSegments(segments, targetLanguage, mimeType)
+            .collectList()
+            .map(translations -> join(segments, translations));
+    }
+
+    /**
+     * Translates a text like {@link #translate}, emitting the translation of each segment followed by its separator as
+     * soon as it and the segments before it are translated, so that concatenating them yields the whole translation.
+     *
+     * @param text the text to translate.
+     * @param targetLanguage the language code to translate into.
+     * @param mimeType the mime type of the text.
+     * @return the translated segments, in their original order.
+     */
+    public Flux<TranslatedText> translateProgressively(String text, String targetLanguage, String mimeType) {
+        if (!HTML.equals(mimeType) && !PLAIN_TEXT.equals(mimeType)) {
+            return translationBatcher.translate(text, targetLanguage, mimeType).flux();
+        }
+        List<TextSegment> segments = split(text, mimeType);
+        return translateSegments(segments, targetLanguage, mimeType)
+            .index()
+            .map(translation -> {
+                TranslatedText translatedText = translation.getT2();
+                String separator = segments.get(translation.getT1().intValue()).getSeparator();
+                return new TranslatedText(translatedText.getText() + separator, translatedText.getDetectedLanguage());
+            });
+    }
+
+    private List<TextSegment> split(String text, String mimeType) {
+        if (HTML.equals(mimeType)) {
+            return textChunker.splitHtml(text);
+        }
+        if (segmentCache.isEnabled()) {
+            return textChunker.splitSentences(text);
+        }
+        if (text.length() <= properties.getMaxCharacters()) {
+            return List.of(new TextSegment(text, ""));
+        }
+        return textChunker.split(text);
+    }
+
+    private Flux<TranslatedText> translateSegments(List<TextSegment> segments, String targetLanguage, String mimeType) {
+        if (!HTML.equals(mimeType) && !segmentCache.isEnabled()) {
+            return Flux
+                .fromIterable(segments)
+                .flatMapSequential(segment -> translateSegment(segment.getText(), targetLanguage, mimeType), properties.getConcurrency());
+        }
+        return Flux.defer(() -> {
+            ConcurrentMap<String, Mono<TranslatedText>> unseen = new ConcurrentHashMap<>();
+            return Flux
+                .fromIterable(segments)
+                .flatMapSequential(
+                    segment -> translateCached(segment.getText(), targetLanguage, mimeType, unseen),
+                    properties.getConcurrency()
+                );
+        });
+    }
+
+    /**
+     * Translates a sentence from the segment cache, or else through the batcher. A sentence repeated in the text shares
+     * the call of its first occurrence while it is in flight, and is found in the cache afterwards.
+     */
+    private Mono<TranslatedText> translateCached(
+        String content,
+        String targetLanguage,
+        String mimeType,
+        ConcurrentMap<String, Mono<TranslatedText>> unseen
+    ) {
+        if (content.isEmpty()) {
+            return translateSegment(content, targetLanguage, mimeType);
+        }
+        return Mono.defer(() ->
+            segmentCache
+                .get(content, targetLanguage, mimeType)
+                .map(Mono::just)
+                .orElseGet(() ->
+                    unseen.computeIfAbsent(
+                        content,
+                        key ->
+                            translateSegment(content, targetLanguage, mimeType)
+                                .doOnNext(translation -> segmentCache.put(content, targetLanguage, mimeType, translation))
+                                .doFinally(signal -> unseen.remove(key))
+                                .share()
+                    )
+                )
+        );
+    }
+
+    private Mono<TranslatedText> translateSegment(String content, String targetLanguage, String mimeType) {
+        if (content.isEmpty()) {
+            return Mono.just(new TranslatedText("", null));
+        }
+        Glossary.Masked masked = glossary.mask(content, targetLanguage);
+        return translationBatcher
+            .translate(masked.getText(), targetLanguage, mimeType)
+            .retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getRetryBackoff()).filter(ChunkingTranslator::isRetryable))
+            .map(masked::unmask);
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        return error instanceof TranslationProviderException && ((TranslationProviderException) error).isRetryable();
+    }
+
+    /**
+     * Joins translated segments with the separators of the original segments. The detected language is the one of the
+     * longest segment.
+     */
+    static TranslatedText join(List<TextSegment> segments, List<TranslatedText> translations) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < segments.size(); i++) {
+            text.append(translations.get(i).getText()).append(segments.get(i).getSeparator());
+        }
+        String detectedLanguage = translations
+            .stream()
+            .filter(translation -> translation.getDetectedLanguage() != null)
+            .max(Comparator.comparingInt(translation -> translation.getText().length()))
+            .map(TranslatedText::getDetectedLanguage)
+            .orElse(null);
+        return new TranslatedText(text.toString(), detectedLanguage);
+    }
+}
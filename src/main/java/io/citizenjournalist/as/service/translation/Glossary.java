@@ -0,0 +1,249 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.GlossaryTerm;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Protects glossary terms from translation.
+ * <p>
+ * Before a segment is sent to the provider, the occurrences of the terms applying to the target language are replaced
+ * with numbered placeholders such as {@code ⟦0⟧}, found with an {@link AhoCorasick} automaton in a single pass. The
+ * placeholders of the translation are then replaced, again in a single pass, with the fixed replacement of each term,
+ * or with the term itself. Occurrences only count at word boundaries, and the leftmost longest one wins when several
+ * overlap.
+ * <p>
+ * The automaton is rebuilt only when the terms are {@link #load loaded}, and swapped atomically, so searches never wait
+ * on a reload. Each set of terms has a {@link #version}, a hash of its content, which persisted translations record so
+ * that translations made with other terms are not reused.
+ */
+@Component
+public class Glossary {
+
+    private static final char PLACEHOLDER_START = '⟦';
+
+    private static final char PLACEHOLDER_END = '⟧';
+
+    private static final String ANY_LANGUAGE = "";
+
+    private final boolean enabled;
+
+    private volatile Terms terms = new Terms(List.of(), List.of(), null);
+
+    private final Counter masked;
+
+    private final Counter lost;
+
+    public Glossary(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.enabled = applicationProperties.getTranslation().getGlossary().isEnabled();
+        Gauge
+            .builder("translation.glossary.terms", this, glossary -> glossary.terms.patterns.size())
+            .description("Distinct terms of the glossary")
+            .register(meterRegistry);
+        this.masked =
+            Counter
+                .builder("translation.glossary.masked")
+                .description("Occurrences of glossary terms protected from translation")
+                .register(meterRegistry);
+        this.lost =
+            Counter
+                .builder("translation.glossary.lost")
+                .description("Protected glossary terms missing from the translation returned by the provider")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replaces the terms of the glossary.
+     *
+     * @param glossaryTerms all the terms.
+     */
+    public void load(List<GlossaryTerm> glossaryTerms) {
+        Map<String, Map<String, String>> replacements = new TreeMap<>();
+        for (GlossaryTerm glossaryTerm : glossaryTerms) {
+            if (glossaryTerm.getTerm() == null || glossaryTerm.getTerm().isBlank()) {
+                continue;
+            }
+            String language = glossaryTerm.getLanguage() != null ? glossaryTerm.getLanguage().getShortName() : ANY_LANGUAGE;
+            replacements.computeIfAbsent(glossaryTerm.getTerm(), term -> new TreeMap<>()).put(language, glossaryTerm.getReplacement());
+        }
+        this.terms = new Terms(new ArrayList<>(replacements.keySet()), new ArrayList<>(replacements.values()), version(replacements));
+    }
+
+    /**
+     * @return the version of the terms applied to the texts translated now, or {@code null} when no term applies.
+     */
+    public String version() {
+        return enabled ? terms.version : null;
+    }
+
+    /**
+     * Hashes the terms, sorted, so that the same terms give the same version on every instance and across restarts.
+     */
+    private static String version(Map<String, Map<String, String>> replacements) {
+        if (replacements.isEmpty()) {
+            return null;
+        }
+        StringBuilder content = new StringBuilder();
+        replacements.forEach((term, byLanguage) ->
+            byLanguage.forEach((language, replacement) ->
+                content.append(term).append('\u0000').append(language).append('\u0000').append(replacement).append('\n')
+            )
+        );
+        return TranslationKey.contentHash(content.toString());
+    }
+
+    /**
+     * Replaces the glossary terms of a text with placeholders.
+     *
+     * @param text the text to translate.
+     * @param targetLanguage the language code to translate into.
+     * @return the masked text, which restores the terms in its translation.
+     */
+    public Masked mask(String text, String targetLanguage) {
+        Terms current = terms;
+        if (!enabled || current.patterns.isEmpty()) {
+            return new Masked(text, List.of());
+        }
+        List<int[]> matches = new ArrayList<>();
+        current.automaton.search(
+            text,
+            (pattern, start, end) -> {
+                if (!current.appliesTo(pattern, targetLanguage) || !isWordBoundary(text, start) || !isWordBoundary(text, end)) {
+                    return;
+                }
+                // matches come by end, so a match overlapping the kept ones replaces them only if it starts first
+                int first = matches.size();
+                while (first > 0 && matches.get(first - 1)[1] > start) {
+                    first--;
+                }
+                if (first < matches.size()) {
+                    int[] overlapped = matches.get(first);
+                    if (overlapped[0] < start || (overlapped[0] == start && overlapped[1] >= end)) {
+                        return;
+                    }
+                    matches.subList(first, matches.size()).clear();
+                }
+                matches.add(new int[] { start, end, pattern });
+            }
+        );
+        if (matches.isEmpty()) {
+            return new Masked(text, List.of());
+        }
+        StringBuilder maskedText = new StringBuilder(text.length());
+        List<String> substitutions = new ArrayList<>(matches.size());
+        int position = 0;
+        for (int[] match : matches) {
+            String replacement = current.replacement(match[2], targetLanguage);
+            maskedText.append(text, position, match[0]).append(PLACEHOLDER_START).append(substitutions.size()).append(PLACEHOLDER_END);
+            substitutions.add(replacement != null ? replacement : text.substring(match[0], match[1]));
+            position = match[1];
+        }
+        maskedText.append(text, position, text.length());
+        masked.increment(substitutions.size());
+        return new Masked(maskedText.toString(), substitutions);
+    }
+
+    private static boolean isWordBoundary(String text, int index) {
+        return (
+            index == 0 ||
+            index == text.length() ||
+            !Character.isLetterOrDigit(text.charAt(index - 1)) ||
+            !Character.isLetterOrDigit(text.charAt(index))
+        );
+    }
+
+    /**
+     * A text whose glossary terms are replaced with placeholders.
+     */
+    public final class Masked {
+
+        private final String text;
+
+        private final List<String> substitutions;
+
+        private Masked(String text, List<String> substitutions) {
+            this.text = text;
+            this.substitutions = substitutions;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Replaces the placeholders of a translation of the masked text with the glossary terms or their replacements.
+         *
+         * @param translation the translation of the masked text.
+         * @return the translation with the terms restored.
+         */
+        public TranslatedText unmask(TranslatedText translation) {
+            if (substitutions.isEmpty()) {
+                return translation;
+            }
+            String translated = translation.getText();
+            StringBuilder unmasked = new StringBuilder(translated.length());
+            int restored = 0;
+            int i = 0;
+            while (i < translated.length()) {
+                int end = i + 1;
+                int index = 0;
+                if (translated.charAt(i) == PLACEHOLDER_START) {
+                    while (end < translated.length() && end - i <= 6 && Character.isDigit(translated.charAt(end))) {
+                        index = index * 10 + Character.digit(translated.charAt(end), 10);
+                        end++;
+                    }
+                }
+                if (end > i + 1 && end < translated.length() && translated.charAt(end) == PLACEHOLDER_END && index < substitutions.size()) {
+                    unmasked.append(substitutions.get(index));
+                    restored++;
+                    i = end + 1;
+                } else {
+                    unmasked.append(translated.charAt(i));
+                    i++;
+                }
+            }
+            if (restored < substitutions.size()) {
+                lost.increment(substitutions.size() - restored);
+            }
+            return new TranslatedText(unmasked.toString(), translation.getDetectedLanguage());
+        }
+    }
+
+    /**
+     * An immutable snapshot of the glossary.
+     */
+    private static final class Terms {
+
+        private final List<String> patterns;
+
+        private final List<Map<String, String>> replacements;
+
+        private final AhoCorasick automaton;
+
+        private final String version;
+
+        private Terms(List<String> patterns, List<Map<String, String>> replacements, String version) {
+            this.patterns = patterns;
+            this.replacements = replacements;
+            this.automaton = new AhoCorasick(patterns);
+            this.version = version;
+        }
+
+        private boolean appliesTo(int pattern, String targetLanguage) {
+            Map<String, String> byLanguage = replacements.get(pattern);
+            return byLanguage.containsKey(targetLanguage) || byLanguage.containsKey(ANY_LANGUAGE);
+        }
+
+        private String replacement(int pattern, String targetLanguage) {
+            Map<String, String> byLanguage = replacements.get(pattern);
+            return byLanguage.containsKey(targetLanguage) ? byLanguage.get(targetLanguage) : byLanguage.get(ANY_LANGUAGE);
+        }
+    }
+}
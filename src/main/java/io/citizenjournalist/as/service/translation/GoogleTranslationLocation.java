@@ -0,0 +1,35 @@
+package io.citizenjournalist.as.service.translation;
+
+import com.google.cloud.translate.v3beta1.LocationName;
+import com.google.cloud.translate.v3beta1.TranslationServiceClient;
+
+/**
+ * A location of the Google Cloud Translation API, with the client calling it.
+ */
+public final class GoogleTranslationLocation {
+
+    private final LocationName name;
+
+    private final TranslationServiceClient client;
+
+    public GoogleTranslationLocation(LocationName name, TranslationServiceClient client) {
+        this.name = name;
+        this.client = client;
+    }
+
+    public LocationName getName() {
+        return name;
+    }
+
+    public TranslationServiceClient getClient() {
+        return client;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GoogleTranslationLocation{" +
+            "name='" + name + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,198 @@
+package io.citizenjournalist.as.service.translation;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.api.gax.rpc.UnaryCallable;
+import com.google.cloud.translate.v3beta1.GetSupportedLanguagesRequest;
+import com.google.cloud.translate.v3beta1.TranslateTextRequest;
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link TranslationProvider} backed by the Google Cloud Translation API.
+ * <p>
+ * Requests are sent through the asynchronous {@code futureCall} of the client, so no thread waits for the response,
+ * and cancelling the returned {@link Mono} cancels the gRPC call. Once the application is ready, one cheap call per
+ * channel of the pool of each location is sent so that connections and TLS sessions are set up before the first
+ * translation.
+ * <p>
+ * Several {@link GoogleTranslationLocation locations} may be configured. Each call goes to the location a
+ * {@link LatencyRouter} expects to answer first, and fails over to the next one when a location fails with a
+ * retryable error, its deadline included. A call cancelled before its location answered counts as failed for routing.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.translation", name = "provider", havingValue = "google", matchIfMissing = true)
+public class GoogleTranslationProvider implements TranslationProvider {
+
+    private final Logger log = LoggerFactory.getLogger(GoogleTranslationProvider.class);
+
+    private final List<GoogleTranslationLocation> locations;
+
+    private final ApplicationProperties.Translation.Google properties;
+
+    private final LatencyRouter router;
+
+    private final Counter failovers;
+
+    public GoogleTranslationProvider(
+        List<GoogleTranslationLocation> locations,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.locations = locations;
+        this.properties = applicationProperties.getTranslation().getGoogle();
+        this.router =
+            new LatencyRouter(
+                locations.stream().map(location -> location.getName().getLocation()).collect(Collectors.toList()),
+                properties.getRoutingSmoothing(),
+                properties.getProbeInterval(),
+                meterRegistry
+            );
+        this.failovers =
+            Counter
+                .builder("translation.endpoint.failover")
+                .description("Calls sent to another location after a location failed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isWarmUp()) {
+            return;
+        }
+        Flux
+            .fromIterable(locations)
+            .flatMap(location -> {
+                GetSupportedLanguagesRequest request = GetSupportedLanguagesRequest
+                    .newBuilder()
+                    .setParent(location.getName().toString())
+                    .build();
+                return Flux
+                    .range(0, properties.getChannelPoolSize())
+                    .flatMap(i -> call(location.getClient().getSupportedLanguagesCallable(), request));
+            })
+            .count()
+            .subscribe(
+                calls -> log.debug("Warmed up {} translation channels", calls),
+                error -> log.warn("Could not warm up the translation channels: {}", error.getMessage())
+            );
+    }
+
+    @PreDestroy
+    public void close() {
+        locations.forEach(location -> location.getClient().close());
+    }
+
+    @Override
+    public Mono<List<TranslatedText>> translate(List<String> contents, String targetLanguage, String mimeType) {
+        return Mono.defer(() -> translate(contents, targetLanguage, mimeType, router.order(), 0));
+    }
+
+    /**
+     * Calls the location at the given position of the order, and the next ones while they fail with retryable errors.
+     */
+    private Mono<List<TranslatedText>> translate(
+        List<String> contents,
+        String targetLanguage,
+        String mimeType,
+        List<Integer> order,
+        int attempt
+    ) {
+        int index = order.get(attempt);
+        long start = System.nanoTime();
+        return translate(locations.get(index), contents, targetLanguage, mimeType)
+            .doOnNext(translations -> router.record(index, System.nanoTime() - start, false))
+            // cancelled by the breaker timeout or by a hedge which answered first: the location was too slow
+            .doOnCancel(() -> router.record(index, System.nanoTime() - start, true))
+            .onErrorResume(
+                TranslationProviderException.class,
+                error -> {
+                    if (!error.isRetryable()) {
+                        return Mono.error(error);
+                    }
+                    router.record(index, System.nanoTime() - start, true);
+                    if (attempt + 1 >= order.size()) {
+                        return Mono.error(error);
+                    }
+                    log.debug("Translation location {} failed, failing over: {}", locations.get(index).getName(), error.getMessage());
+                    failovers.increment();
+                    return translate(contents, targetLanguage, mimeType, order, attempt + 1);
+                }
+            );
+    }
+
+    private Mono<List<TranslatedText>> translate(
+        GoogleTranslationLocation location,
+        List<String> contents,
+        String targetLanguage,
+        String mimeType
+    ) {
+        TranslateTextRequest request = TranslateTextRequest
+            .newBuilder()
+            .setParent(location.getName().toString())
+            .setMimeType(mimeType)
+            .setTargetLanguageCode(targetLanguage)
+            .addAllContents(contents)
+            .build();
+        return call(location.getClient().translateTextCallable(), request)
+            .map(response ->
+                response
+                    .getTranslationsList()
+                    .stream()
+                    .map(translation -> new TranslatedText(translation.getTranslatedText(), translation.getDetectedLanguageCode()))
+                    .collect(Collectors.toList())
+            )
+            .onErrorMap(
+                ApiException.class,
+                e -> new TranslationProviderException("Google translation failed: " + e.getStatusCode().getCode(), isRetryable(e), e)
+            );
+    }
+
+    /**
+     * Whether another call may succeed. An exceeded deadline or an unavailable location is worth another try, at
+     * another location at least, even when the client does not retry these codes itself.
+     */
+    private static boolean isRetryable(ApiException e) {
+        StatusCode.Code code = e.getStatusCode().getCode();
+        return e.isRetryable() || code == StatusCode.Code.DEADLINE_EXCEEDED || code == StatusCode.Code.UNAVAILABLE;
+    }
+
+    private static <Q, R> Mono<R> call(UnaryCallable<Q, R> callable, Q request) {
+        return Mono.create(sink -> {
+            ApiFuture<R> future = callable.futureCall(request);
+            sink.onCancel(() -> future.cancel(true));
+            ApiFutures.addCallback(
+                future,
+                new ApiFutureCallback<>() {
+                    @Override
+                    public void onFailure(Throwable t) {
+                        if (!future.isCancelled()) {
+                            sink.error(t);
+                        }
+                    }
+
+                    @Override
+                    public void onSuccess(R response) {
+                        sink.success(response);
+                    }
+                },
+                Runnable::run
+            );
+        });
+    }
+}
@@ -0,0 +1,230 @@
+package io.citizenjournalist.as.service.translation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits an HTML document into its text runs, in a single pass and without building a tree.
+ * <p>
+ * A text run is the text between two tags other than the tags of inline elements, such as {@code a}, {@code b},
+ * {@code em} or {@code span}: these stay in the run, as they belong to the sentence they are in and its translation may
+ * move them. Other tags, comments, declarations and the content of {@code script} and {@code style} elements are markup.
+ * Each run is returned as a {@link TextSegment} whose separator holds the whitespace and markup up to the next run,
+ * copied from the document as is, so that concatenating the segments and their separators yields the original document.
+ * Character references are left in the runs.
+ */
+public final class HtmlTokenizer {
+
+    /**
+     * Elements which can be part of a sentence. The void ones among them do not contain anything.
+     */
+    private static final Set<String> INLINE_ELEMENTS = Set.of(
+        "a",
+        "abbr",
+        "b",
+        "bdi",
+        "bdo",
+        "br",
+        "cite",
+        "code",
+        "data",
+        "dfn",
+        "em",
+        "font",
+        "i",
+        "img",
+        "kbd",
+        "mark",
+        "q",
+        "s",
+        "samp",
+        "small",
+        "span",
+        "strong",
+        "sub",
+        "sup",
+        "time",
+        "u",
+        "var",
+        "wbr"
+    );
+
+    private static final Set<String> VOID_ELEMENTS = Set.of("br", "img", "wbr");
+
+    private HtmlTokenizer() {}
+
+    public static List<TextSegment> textRuns(String html) {
+        List<TextSegment> runs = new ArrayList<>();
+        int markupStart = 0;
+        // the run being read, from its first text or inline tag to its last, and whether it has any text yet
+        int runStart = -1;
+        int runEnd = -1;
+        boolean hasText = false;
+        int i = 0;
+        while (i < html.length()) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                int end = skipMarkup(html, i);
+                if (isInlineTag(html, i)) {
+                    runStart = runStart < 0 ? i : runStart;
+                    runEnd = end;
+                } else {
+                    if (hasText) {
+                        addRun(runs, html, markupStart, runStart, runEnd);
+                        markupStart = runEnd;
+                    }
+                    runStart = -1;
+                    hasText = false;
+                }
+                i = end;
+            } else {
+                if (!Character.isWhitespace(c)) {
+                    runStart = runStart < 0 ? i : runStart;
+                    runEnd = i + 1;
+                    hasText = true;
+                }
+                i++;
+            }
+        }
+        if (hasText) {
+            addRun(runs, html, markupStart, runStart, runEnd);
+            markupStart = runEnd;
+        }
+        if (runs.isEmpty() || markupStart < html.length()) {
+            addRun(runs, html, markupStart, html.length(), html.length());
+        }
+        return runs;
+    }
+
+    /**
+     * Finds where a text run can be cut without splitting a tag or an inline element.
+     *
+     * @param run a text run.
+     * @return the indexes of the run before which it can be cut: outside any tag and any inline element.
+     */
+    public static BitSet topLevel(String run) {
+        BitSet topLevel = new BitSet(run.length() + 1);
+        int depth = 0;
+        int i = 0;
+        while (i < run.length()) {
+            if (depth == 0) {
+                topLevel.set(i);
+            }
+            if (run.charAt(i) == '<' && isInlineTag(run, i)) {
+                int end = endOfTag(run, i + 1);
+                if (run.charAt(i + 1) == '/') {
+                    depth = Math.max(0, depth - 1);
+                } else if (!VOID_ELEMENTS.contains(tagName(run, i + 1).toLowerCase(Locale.ROOT)) && run.charAt(end - 2) != '/') {
+                    depth++;
+                }
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        if (depth == 0) {
+            topLevel.set(run.length());
+        }
+        return topLevel;
+    }
+
+    /**
+     * Whether the markup starting with the {@code <} at the given index is an opening or closing tag of an inline element.
+     */
+    private static boolean isInlineTag(String html, int start) {
+        int nameStart = start + 1 < html.length() && html.charAt(start + 1) == '/' ? start + 2 : start + 1;
+        if (nameStart >= html.length() || !Character.isLetter(html.charAt(nameStart))) {
+            return false;
+        }
+        return INLINE_ELEMENTS.contains(tagName(html, nameStart).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Attaches the markup before a run to the previous run, or to an empty leading segment.
+     */
+    private static void addRun(List<TextSegment> runs, String html, int markupStart, int runStart, int runEnd) {
+        String markup = html.substring(markupStart, runStart);
+        if (runs.isEmpty()) {
+            if (!markup.isEmpty()) {
+                runs.add(new TextSegment("", markup));
+            }
+        } else {
+            TextSegment previous = runs.remove(runs.size() - 1);
+            runs.add(new TextSegment(previous.getText(), previous.getSeparator() + markup));
+        }
+        if (runEnd > runStart) {
+            runs.add(new TextSegment(html.substring(runStart, runEnd), ""));
+        }
+    }
+
+    /**
+     * Skips the markup starting with the {@code <} at the given index.
+     *
+     * @return the index following the markup.
+     */
+    private static int skipMarkup(String html, int start) {
+        if (html.startsWith("<!--", start)) {
+            return endOf(html, "-->", start + 4);
+        }
+        if (start + 1 >= html.length() || !isMarkupStart(html.charAt(start + 1))) {
+            // not markup, but kept out of the runs like markup
+            return start + 1;
+        }
+        int end = endOfTag(html, start + 1);
+        String name = tagName(html, start + 1);
+        if ((name.equalsIgnoreCase("script") || name.equalsIgnoreCase("style")) && html.charAt(end - 2) != '/') {
+            int close = indexOfIgnoreCase(html, "</" + name, end);
+            return close < 0 ? html.length() : endOfTag(html, close + 1);
+        }
+        return end;
+    }
+
+    private static boolean isMarkupStart(char c) {
+        return Character.isLetter(c) || c == '/' || c == '!' || c == '?';
+    }
+
+    /**
+     * Finds the end of a tag, ignoring the {@code >} within quoted attribute values.
+     */
+    private static int endOfTag(String html, int start) {
+        char quote = 0;
+        for (int i = start; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+        return html.length();
+    }
+
+    private static String tagName(String html, int start) {
+        int end = start;
+        while (end < html.length() && (Character.isLetterOrDigit(html.charAt(end)) || html.charAt(end) == '-')) {
+            end++;
+        }
+        return html.substring(start, end);
+    }
+
+    private static int endOf(String html, String terminator, int start) {
+        int index = html.indexOf(terminator, start);
+        return index < 0 ? html.length() : index + terminator.length();
+    }
+
+    private static int indexOfIgnoreCase(String html, String needle, int start) {
+        for (int i = start; i <= html.length() - needle.length(); i++) {
+            if (html.regionMatches(true, i, needle, 0, needle.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
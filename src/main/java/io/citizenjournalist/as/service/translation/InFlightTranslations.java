@@ -0,0 +1,102 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single-flight registry of the translations currently being resolved.
+ * <p>
+ * Callers asking for a {@link TranslationKey} which is already in flight attach to the pending result instead of
+ * starting their own lookup. The entry is dropped as soon as the shared call completes or fails, and the shared call
+ * is cancelled once every attached caller has cancelled.
+ * <p>
+ * The shared call runs with the {@link TranslationPriority priority} of the caller which started it, so a caller only
+ * attaches to a call of its own priority or of a more urgent one: an editor never waits behind a bulk or background
+ * translation of the same text, which is then translated twice.
+ */
+@Component
+public class InFlightTranslations {
+
+    private static final TranslationPriority[] PRIORITIES = TranslationPriority.values();
+
+    private final ConcurrentMap<InFlightKey, Mono<TranslatedText>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter joined;
+
+    public InFlightTranslations(MeterRegistry meterRegistry) {
+        Gauge
+            .builder("translation.inflight", inFlight, ConcurrentMap::size)
+            .description("Distinct translations in flight")
+            .register(meterRegistry);
+        this.joined =
+            Counter
+                .builder("translation.inflight.joined")
+                .description("Translations served by attaching to an identical call in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolves a translation, sharing the call with identical translations in flight at the same or a more urgent
+     * priority.
+     *
+     * @param key the identity of the translation.
+     * @param translation supplies the call to make when no identical translation is in flight.
+     * @return the translation.
+     */
+    public Mono<TranslatedText> join(TranslationKey key, Supplier<Mono<TranslatedText>> translation) {
+        return Mono.deferContextual(context -> {
+            TranslationPriority priority = TranslationPriority.of(context);
+            for (int i = 0; i <= priority.ordinal(); i++) {
+                Mono<TranslatedText> pending = inFlight.get(new InFlightKey(key, PRIORITIES[i]));
+                if (pending != null) {
+                    joined.increment();
+                    return pending;
+                }
+            }
+            return inFlight.computeIfAbsent(new InFlightKey(key, priority), k -> share(k, translation.get()));
+        });
+    }
+
+    private Mono<TranslatedText> share(InFlightKey key, Mono<TranslatedText> translation) {
+        AtomicReference<Mono<TranslatedText>> shared = new AtomicReference<>();
+        shared.set(translation.doFinally(signal -> inFlight.remove(key, shared.get())).flux().publish().refCount().singleOrEmpty());
+        return shared.get();
+    }
+
+    private static final class InFlightKey {
+
+        private final TranslationKey key;
+
+        private final TranslationPriority priority;
+
+        private InFlightKey(TranslationKey key, TranslationPriority priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof InFlightKey)) {
+                return false;
+            }
+            InFlightKey other = (InFlightKey) o;
+            return key.equals(other.key) && priority == other.priority;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, priority);
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identifies the language of a text locally, to avoid paying for the translation of a text into its own language.
+ * <p>
+ * Each {@link Language} has a profile of the character 1- to 3-grams of a sample text bundled under
+ * {@code language-profiles/}. A text is scored against every profile with a naive Bayes model. Since the posterior of
+ * a closed set of languages is near certain for a text in none of them, the identification is open-set:
+ * <ul>
+ *     <li>the profiles of {@link #OTHER_LANGUAGES neighbouring unsupported languages}, under
+ *     {@code language-profiles/other/}, compete with the supported ones, and a text closest to one of them is in no
+ *     supported language;</li>
+ *     <li>the best profile must lead the runner-up by a margin of log-likelihood per n-gram, which unlike the
+ *     posterior does not grow with the length of the text;</li>
+ *     <li>most of the trigrams of the text, or of its characters in ideographic scripts, must be seen in the best
+ *     profile, which rejects texts far from every profile.</li>
+ * </ul>
+ * Only the beginning of long texts is looked at.
+ */
+@Component
+public class LanguageIdentifier {
+
+    private static final String PROFILE_LOCATION = "language-profiles/";
+
+    /**
+     * Unsupported languages close to a supported one, whose texts must not be taken for it.
+     */
+    private static final List<String> OTHER_LANGUAGES = List.of(
+        "af",
+        "be",
+        "bg",
+        "cs",
+        "da",
+        "fa",
+        "gl",
+        "nb",
+        "nl",
+        "pl",
+        "ro",
+        "sv",
+        "tr"
+    );
+
+    private static final int MAX_ORDER = 3;
+
+    private static final int MAX_ANALYZED_CHARACTERS = 1_000;
+
+    private final ApplicationProperties.Translation.LanguageIdentification properties;
+
+    private final List<Profile> profiles = new ArrayList<>();
+
+    private final DistributionSummary confidence;
+
+    private final Counter checked;
+
+    private final Counter skipped;
+
+    public LanguageIdentifier(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getTranslation().getLanguageIdentification();
+        loadProfiles();
+        this.confidence =
+            DistributionSummary
+                .builder("translation.language.confidence")
+                .description("Confidence of the local language identification, between 0 and 1")
+                .register(meterRegistry);
+        this.checked =
+            Counter
+                .builder("translation.language.checked")
+                .description("Texts checked for being in their target language already")
+                .register(meterRegistry);
+        this.skipped =
+            Counter
+                .builder("translation.language.skipped")
+                .description("Texts not sent to the provider because they are in their target language already")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tells whether a text is confidently in the given language, so that translating it can be skipped.
+     *
+     * @param text the text to translate.
+     * @param language the target language.
+     * @return whether the text is in the target language already.
+     */
+    public boolean isAlreadyIn(String text, Language language) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        checked.increment();
+        Identification identification = identify(text);
+        if (identification == null) {
+            return false;
+        }
+        confidence.record(identification.confidence);
+        boolean alreadyIn =
+            identification.language == language &&
+            identification.confidence >= properties.getMinConfidence() &&
+            identification.margin >= properties.getMinMargin() &&
+            identification.coverage >= properties.getMinCoverage();
+        if (alreadyIn) {
+            skipped.increment();
+        }
+        return alreadyIn;
+    }
+
+    /**
+     * Identifies the language of a text.
+     *
+     * @param text the text.
+     * @return the closest profile, or {@code null} if the text is too short to tell.
+     */
+    Identification identify(String text) {
+        String normalized = normalize(text.length() > MAX_ANALYZED_CHARACTERS ? text.substring(0, MAX_ANALYZED_CHARACTERS) : text);
+        if (normalized.codePointCount(0, normalized.length()) - countSpaces(normalized) < properties.getMinLength()) {
+            return null;
+        }
+        List<String> ngrams = ngrams(normalized);
+        double[] scores = new double[profiles.size()];
+        for (int i = 0; i < scores.length; i++) {
+            Profile profile = profiles.get(i);
+            double score = 0;
+            for (String ngram : ngrams) {
+                score += profile.logProbabilities.getOrDefault(ngram, profile.unseenLogProbability);
+            }
+            // every character is counted once per n-gram order
+            scores[i] = score / MAX_ORDER;
+        }
+        int best = 0;
+        int runnerUp = -1;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] > scores[best]) {
+                runnerUp = best;
+                best = i;
+            } else if (runnerUp < 0 || scores[i] > scores[runnerUp]) {
+                runnerUp = i;
+            }
+        }
+        double total = 0;
+        for (double score : scores) {
+            total += Math.exp(score - scores[best]);
+        }
+        Profile profile = profiles.get(best);
+        return new Identification(
+            profile.language,
+            profile.name,
+            1 / total,
+            (scores[best] - scores[runnerUp]) * MAX_ORDER / ngrams.size(),
+            coverage(profile, ngrams, isMostlyIdeographic(normalized) ? 1 : MAX_ORDER)
+        );
+    }
+
+    /**
+     * Computes the share of the n-grams of the given order of a text which are seen in a profile.
+     */
+    private static double coverage(Profile profile, List<String> ngrams, int order) {
+        int total = 0;
+        int seen = 0;
+        for (String ngram : ngrams) {
+            if (ngram.codePointCount(0, ngram.length()) == order) {
+                total++;
+                if (profile.logProbabilities.containsKey(ngram)) {
+                    seen++;
+                }
+            }
+        }
+        return total == 0 ? 0 : (double) seen / total;
+    }
+
+    /**
+     * Tells whether most letters of a text are Han ideographs or kana, each of which is about a syllable or a word, so
+     * that few of their trigrams are seen in any sample.
+     */
+    private static boolean isMostlyIdeographic(String normalized) {
+        long letters = normalized.codePoints().filter(codePoint -> codePoint != ' ').count();
+        long ideographs = normalized
+            .codePoints()
+            .mapToObj(Character.UnicodeScript::of)
+            .filter(script ->
+                script == Character.UnicodeScript.HAN ||
+                script == Character.UnicodeScript.HIRAGANA ||
+                script == Character.UnicodeScript.KATAKANA
+            )
+            .count();
+        return ideographs * 2 > letters;
+    }
+
+    private void loadProfiles() {
+        List<Map<String, Integer>> samples = new ArrayList<>();
+        for (Language language : Language.values()) {
+            profiles.add(new Profile(language, language.getShortName()));
+            samples.add(count(PROFILE_LOCATION + language.getShortName() + ".txt"));
+        }
+        for (String name : OTHER_LANGUAGES) {
+            profiles.add(new Profile(null, name));
+            samples.add(count(PROFILE_LOCATION + "other/" + name + ".txt"));
+        }
+        Set<String> vocabulary = new HashSet<>();
+        samples.forEach(sample -> vocabulary.addAll(sample.keySet()));
+        for (int i = 0; i < profiles.size(); i++) {
+            Profile profile = profiles.get(i);
+            Map<String, Integer> sample = samples.get(i);
+            double denominator = sample.values().stream().mapToInt(Integer::intValue).sum() + vocabulary.size();
+            sample.forEach((ngram, count) -> profile.logProbabilities.put(ngram, Math.log((count + 1) / denominator)));
+            profile.unseenLogProbability = Math.log(1 / denominator);
+        }
+    }
+
+    private static Map<String, Integer> count(String location) {
+        Map<String, Integer> counts = new HashMap<>();
+        ngrams(normalize(readSample(location))).forEach(ngram -> counts.merge(ngram, 1, Integer::sum));
+        return counts;
+    }
+
+    private static String readSample(String location) {
+        try (InputStream sample = new ClassPathResource(location).getInputStream()) {
+            return new String(sample.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the language profile " + location, e);
+        }
+    }
+
+    /**
+     * Lower-cases the text and replaces every run of characters which are not letters by a single space.
+     */
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length() + 2).append(' ');
+        text
+            .toLowerCase(Locale.ROOT)
+            .codePoints()
+            .forEach(codePoint -> {
+                if (Character.isLetter(codePoint)) {
+                    normalized.appendCodePoint(codePoint);
+                } else if (normalized.charAt(normalized.length() - 1) != ' ') {
+                    normalized.append(' ');
+                }
+            });
+        if (normalized.charAt(normalized.length() - 1) != ' ') {
+            normalized.append(' ');
+        }
+        return normalized.toString();
+    }
+
+    private static int countSpaces(String normalized) {
+        return (int) normalized.chars().filter(c -> c == ' ').count();
+    }
+
+    private static List<String> ngrams(String normalized) {
+        int[] codePoints = normalized.codePoints().toArray();
+        List<String> ngrams = new ArrayList<>(codePoints.length * MAX_ORDER);
+        for (int order = 1; order <= MAX_ORDER; order++) {
+            for (int i = 0; i + order <= codePoints.length; i++) {
+                if (order == 1 && codePoints[i] == ' ') {
+                    continue;
+                }
+                ngrams.add(new String(codePoints, i, order));
+            }
+        }
+        return ngrams;
+    }
+
+    private static final class Profile {
+
+        private final Language language;
+
+        private final String name;
+
+        private final Map<String, Double> logProbabilities = new HashMap<>();
+
+        private double unseenLogProbability;
+
+        private Profile(Language language, String name) {
+            this.language = language;
+            this.name = name;
+        }
+    }
+
+    static final class Identification {
+
+        private final Language language;
+
+        private final String profile;
+
+        private final double confidence;
+
+        private final double margin;
+
+        private final double coverage;
+
+        private Identification(Language language, String profile, double confidence, double margin, double coverage) {
+            this.language = language;
+            this.profile = profile;
+            this.confidence = confidence;
+            this.margin = margin;
+            this.coverage = coverage;
+        }
+
+        /**
+         * @return the language of the closest profile, or {@code null} if it is the profile of an unsupported language.
+         */
+        Language getLanguage() {
+            return language;
+        }
+
+        /**
+         * @return the language code of the closest profile.
+         */
+        String getProfile() {
+            return profile;
+        }
+
+        /**
+         * @return the posterior probability of the closest profile.
+         */
+        double getConfidence() {
+            return confidence;
+        }
+
+        /**
+         * @return how much more likely the text is under the closest profile than under the runner-up, in log-likelihood
+         * per n-gram.
+         */
+        double getMargin() {
+            return margin;
+        }
+
+        /**
+         * @return the share of the trigrams of the text, or of its characters in ideographic scripts, seen in the closest
+         * profile.
+         */
+        double getCoverage() {
+            return coverage;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "Identification{" +
+                "profile='" + profile + "'" +
+                ", confidence=" + confidence +
+                ", margin=" + margin +
+                ", coverage=" + coverage +
+                "}";
+        }
+    }
+}
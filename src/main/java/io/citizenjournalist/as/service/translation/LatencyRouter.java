@@ -0,0 +1,120 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Orders interchangeable endpoints by the time they are expected to take to answer successfully.
+ * <p>
+ * The latency and the error rate of each endpoint are tracked as exponentially weighted moving averages, and an
+ * endpoint is expected to take its latency divided by its success rate, as if failed calls were repeated until one
+ * succeeds. Endpoints never called come first. An endpoint which was not called for longer than the probe interval is
+ * put first once, so that an endpoint which recovered is noticed.
+ */
+final class LatencyRouter {
+
+    /**
+     * Lowest success rate accounted for, so that an endpoint failing every call still has a finite expected time.
+     */
+    private static final double MIN_SUCCESS_RATE = 0.01;
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    private final double smoothing;
+
+    private final long probeIntervalNanos;
+
+    private final LongSupplier nanoTime;
+
+    LatencyRouter(List<String> names, double smoothing, Duration probeInterval, MeterRegistry meterRegistry) {
+        this(names, smoothing, probeInterval, meterRegistry, System::nanoTime);
+    }
+
+    LatencyRouter(List<String> names, double smoothing, Duration probeInterval, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.smoothing = smoothing;
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.nanoTime = nanoTime;
+        for (int i = 0; i < names.size(); i++) {
+            Endpoint endpoint = new Endpoint(i, nanoTime.getAsLong());
+            endpoints.add(endpoint);
+            Gauge
+                .builder("translation.endpoint.latency", endpoint, e -> e.latencyNanos / TimeUnit.SECONDS.toNanos(1))
+                .description("Moving average of the latency of the endpoint, in seconds")
+                .tag("endpoint", names.get(i))
+                .register(meterRegistry);
+            Gauge
+                .builder("translation.endpoint.error.rate", endpoint, e -> e.errorRate)
+                .description("Moving average of the share of failed calls to the endpoint")
+                .tag("endpoint", names.get(i))
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return the indexes of the endpoints, the one to call first first.
+     */
+    synchronized List<Integer> order() {
+        long now = nanoTime.getAsLong();
+        List<Endpoint> ordered = new ArrayList<>(endpoints);
+        ordered.sort(Comparator.comparingDouble(Endpoint::expectedNanos));
+        for (int i = 0; i < ordered.size(); i++) {
+            Endpoint endpoint = ordered.get(i);
+            if (i > 0 && now - endpoint.lastCall > probeIntervalNanos) {
+                endpoint.lastCall = now;
+                ordered.remove(i);
+                ordered.add(0, endpoint);
+                break;
+            }
+        }
+        List<Integer> order = new ArrayList<>(ordered.size());
+        ordered.forEach(endpoint -> order.add(endpoint.index));
+        return order;
+    }
+
+    /**
+     * Records a finished call.
+     *
+     * @param index the index of the endpoint called.
+     * @param latencyNanos how long the call took.
+     * @param failed whether the endpoint failed to answer.
+     */
+    synchronized void record(int index, long latencyNanos, boolean failed) {
+        Endpoint endpoint = endpoints.get(index);
+        endpoint.lastCall = nanoTime.getAsLong();
+        if (endpoint.calls++ == 0) {
+            endpoint.latencyNanos = latencyNanos;
+            endpoint.errorRate = failed ? 1 : 0;
+            return;
+        }
+        endpoint.latencyNanos += smoothing * (latencyNanos - endpoint.latencyNanos);
+        endpoint.errorRate += smoothing * ((failed ? 1 : 0) - endpoint.errorRate);
+    }
+
+    private static final class Endpoint {
+
+        private final int index;
+
+        private long calls;
+
+        private double latencyNanos;
+
+        private double errorRate;
+
+        private long lastCall;
+
+        private Endpoint(int index, long now) {
+            this.index = index;
+            this.lastCall = now;
+        }
+
+        private double expectedNanos() {
+            return calls == 0 ? -1 : latencyNanos / Math.max(MIN_SUCCESS_RATE, 1 - errorRate);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Offline {@link TranslationProvider} for load and integration testing.
+ * <p>
+ * Every content is "translated" to itself prefixed with the target language code. Call latencies follow a log-normal
+ * distribution defined by its median and 99th percentile, and calls fail with a retryable error at the configured
+ * rate. Each call draws its latency and failure from its own generator, seeded from the configured seed and the
+ * number of the call, so that the n-th call behaves the same in every run whatever the threads making the calls.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.translation", name = "provider", havingValue = "local")
+public class LocalTranslationProvider implements TranslationProvider {
+
+    /**
+     * The standard normal quantile of the 99th percentile.
+     */
+    private static final double Z_99 = 2.326;
+
+    private final ApplicationProperties.Translation.Local properties;
+
+    private final AtomicLong calls = new AtomicLong();
+
+    public LocalTranslationProvider(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getTranslation().getLocal();
+    }
+
+    @Override
+    public Mono<List<TranslatedText>> translate(List<String> contents, String targetLanguage, String mimeType) {
+        List<TranslatedText> translations = contents
+            .stream()
+            .map(content -> new TranslatedText("[" + targetLanguage + "] " + content, properties.getDetectedLanguage()))
+            .collect(Collectors.toList());
+        Random random = nextRandom();
+        Mono<List<TranslatedText>> result = random.nextDouble() < properties.getErrorRate()
+            ? Mono.error(new TranslationProviderException("Simulated translation failure", true, null))
+            : Mono.just(translations);
+        Duration latency = nextLatency(random);
+        return latency.isZero() ? result : Mono.delay(latency).then(result);
+    }
+
+    /**
+     * Returns the generator of the next call. Its seed is mixed from the call number, as the generators of consecutive
+     * seeds draw correlated numbers.
+     */
+    private Random nextRandom() {
+        return new Random(new SplittableRandom(properties.getSeed() + calls.getAndIncrement()).nextLong());
+    }
+
+    private Duration nextLatency(Random random) {
+        long median = properties.getMedianLatency().toNanos();
+        if (median == 0) {
+            return Duration.ZERO;
+        }
+        double sigma = Math.log((double) properties.getP99Latency().toNanos() / median) / Z_99;
+        return Duration.ofNanos((long) (median * Math.exp(Math.max(0, sigma) * random.nextGaussian())));
+    }
+}
@@ -0,0 +1,76 @@
+package io.citizenjournalist.as.service.translation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process cache of translated sentences, shared by all texts.
+ * <p>
+ * Texts from the same outlet share many sentences, such as bylines, disclaimers and section intros, which a cache of
+ * whole texts never hits for. Sentences are keyed like whole texts, by the hash of their normalized content, target
+ * language and mime type. Hits, misses and evictions are published as {@code cache.*} metrics tagged
+ * {@code cache=translation-segment}, and the characters not sent to the provider thanks to a hit as
+ * {@code translation.segment.characters.reused}.
+ */
+@Component
+public class SegmentCache {
+
+    public static final String CACHE_NAME = "translation-segment";
+
+    private final boolean enabled;
+
+    private final Cache<TranslationKey, TranslatedText> cache;
+
+    private final Counter reusedCharacters;
+
+    public SegmentCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Translation.SegmentCache properties = applicationProperties.getTranslation().getSegmentCache();
+        this.enabled = properties.isEnabled();
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .maximumWeight(properties.getMaxWeight())
+                .weigher((TranslationKey key, TranslatedText value) -> value.weight())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        this.reusedCharacters =
+            Counter
+                .builder("translation.segment.characters.reused")
+                .description("Characters of sentences translated from the segment cache instead of the provider")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<TranslatedText> get(String segment, String targetLanguage, String mimeType) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        TranslatedText translation = cache.getIfPresent(TranslationKey.of(segment, targetLanguage, mimeType));
+        if (translation != null) {
+            reusedCharacters.increment(segment.length());
+        }
+        return Optional.ofNullable(translation);
+    }
+
+    public void put(String segment, String targetLanguage, String mimeType, TranslatedText translation) {
+        if (!enabled) {
+            return;
+        }
+        cache.put(TranslationKey.of(segment, targetLanguage, mimeType), translation);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,166 @@
+package io.citizenjournalist.as.service.translation;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits long texts into segments of bounded size at sentence and paragraph boundaries.
+ * <p>
+ * Whitespace between segments is kept out of the segments and returned as their separator, so that concatenating the
+ * segments and their separators yields the original text. A sentence longer than the limit is cut at its last
+ * whitespace before the limit.
+ */
+public class TextChunker {
+
+    private final int maxCharacters;
+
+    public TextChunker(int maxCharacters) {
+        this.maxCharacters = maxCharacters;
+    }
+
+    public List<TextSegment> split(String text) {
+        List<TextSegment> segments = new ArrayList<>();
+        BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.ROOT);
+        sentences.setText(text);
+        int chunkStart = 0;
+        int sentenceStart = sentences.first();
+        for (int boundary = sentences.next(); boundary != BreakIterator.DONE; boundary = sentences.next()) {
+            if (boundary - chunkStart > maxCharacters && sentenceStart > chunkStart) {
+                addChunk(segments, text, chunkStart, sentenceStart);
+                chunkStart = sentenceStart;
+            }
+            while (boundary - chunkStart > maxCharacters) {
+                int cut = cut(text, chunkStart, chunkStart + maxCharacters);
+                addChunk(segments, text, chunkStart, cut);
+                chunkStart = cut;
+            }
+            sentenceStart = boundary;
+        }
+        if (chunkStart < text.length()) {
+            addChunk(segments, text, chunkStart, text.length());
+        }
+        return segments;
+    }
+
+    /**
+     * Splits a text into its sentences, cutting the ones above the limit.
+     *
+     * @param text the text to split.
+     * @return the segments, with the whitespace following each of them as its separator.
+     */
+    public List<TextSegment> splitSentences(String text) {
+        List<TextSegment> segments = new ArrayList<>();
+        for (TextSegment sentence : sentences(text)) {
+            if (sentence.getText().length() <= maxCharacters) {
+                segments.add(sentence);
+            } else {
+                addAll(segments, split(sentence.getText()), sentence.getSeparator());
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Splits the text runs of an HTML document into sentences, cutting the ones above the limit. The markup between
+     * runs is kept in the separators. A sentence boundary within an inline element is not cut, so that the element stays
+     * in one segment; only a sentence still above the limit is cut anywhere.
+     *
+     * @param html the document to split.
+     * @return the segments, with the whitespace and markup following each of them as its separator.
+     */
+    public List<TextSegment> splitHtml(String html) {
+        List<TextSegment> segments = new ArrayList<>();
+        for (TextSegment run : HtmlTokenizer.textRuns(html)) {
+            if (run.getText().isEmpty()) {
+                segments.add(run);
+            } else {
+                addAll(segments, splitRun(run.getText()), run.getSeparator());
+            }
+        }
+        return segments;
+    }
+
+    private List<TextSegment> splitRun(String run) {
+        BitSet topLevel = HtmlTokenizer.topLevel(run);
+        List<TextSegment> sentences = new ArrayList<>();
+        TextSegment current = null;
+        int offset = 0;
+        for (TextSegment sentence : sentences(run)) {
+            if (current == null) {
+                current = sentence;
+            } else if (topLevel.get(offset)) {
+                sentences.add(current);
+                current = sentence;
+            } else {
+                current = new TextSegment(current.getText() + current.getSeparator() + sentence.getText(), sentence.getSeparator());
+            }
+            offset += sentence.getText().length() + sentence.getSeparator().length();
+        }
+        sentences.add(current);
+        List<TextSegment> segments = new ArrayList<>();
+        for (TextSegment sentence : sentences) {
+            if (sentence.getText().length() <= maxCharacters) {
+                segments.add(sentence);
+            } else {
+                addAll(segments, split(sentence.getText()), sentence.getSeparator());
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Adds the pieces of a segment, appending the separator of the segment to the one of its last piece.
+     */
+    private static void addAll(List<TextSegment> segments, List<TextSegment> pieces, String separator) {
+        TextSegment last = pieces.get(pieces.size() - 1);
+        segments.addAll(pieces.subList(0, pieces.size() - 1));
+        segments.add(new TextSegment(last.getText(), last.getSeparator() + separator));
+    }
+
+    /**
+     * Splits a text into its sentences, whatever their length.
+     *
+     * @param text the text to split.
+     * @return the sentences, with the whitespace following each of them as its separator.
+     */
+    public static List<TextSegment> sentences(String text) {
+        List<TextSegment> segments = new ArrayList<>();
+        BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.ROOT);
+        sentences.setText(text);
+        int start = sentences.first();
+        for (int boundary = sentences.next(); boundary != BreakIterator.DONE; boundary = sentences.next()) {
+            addChunk(segments, text, start, boundary);
+            start = boundary;
+        }
+        return segments;
+    }
+
+    private static int cut(String text, int start, int limit) {
+        for (int i = limit; i > start; i--) {
+            if (Character.isWhitespace(text.charAt(i - 1))) {
+                return i;
+            }
+        }
+        return Character.isHighSurrogate(text.charAt(limit - 1)) && limit - 1 > start ? limit - 1 : limit;
+    }
+
+    private static void addChunk(List<TextSegment> segments, String text, int start, int end) {
+        int textStart = start;
+        while (textStart < end && Character.isWhitespace(text.charAt(textStart))) {
+            textStart++;
+        }
+        if (textStart > start) {
+            segments.add(new TextSegment("", text.substring(start, textStart)));
+        }
+        int textEnd = end;
+        while (textEnd > textStart && Character.isWhitespace(text.charAt(textEnd - 1))) {
+            textEnd--;
+        }
+        if (textEnd > textStart) {
+            segments.add(new TextSegment(text.substring(textStart, textEnd), text.substring(textEnd, end)));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.citizenjournalist.as.service.translation;
+
+/**
+ * A piece of a longer text: the text to translate and the whitespace that followed it in the original.
+ */
+public final class TextSegment {
+
+    private final String text;
+
+    private final String separator;
+
+    public TextSegment(String text, String separator) {
+        this.text = text;
+        this.separator = separator;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getSeparator() {
+        return separator;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TextSegment{" +
+            "text='" + text + "'" +
+            ", separator='" + separator + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,78 @@
+package io.citizenjournalist.as.service.translation;
+
+import java.util.Objects;
+
+/**
+ * The result of translating one content: the translated text and the source language detected by the provider.
+ */
+public final class TranslatedText {
+
+    private final String text;
+
+    private final String detectedLanguage;
+
+    private final boolean stale;
+
+    public TranslatedText(String text, String detectedLanguage) {
+        this(text, detectedLanguage, false);
+    }
+
+    private TranslatedText(String text, String detectedLanguage, boolean stale) {
+        this.text = text;
+        this.detectedLanguage = detectedLanguage;
+        this.stale = stale;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getDetectedLanguage() {
+        return detectedLanguage;
+    }
+
+    /**
+     * @return whether this is a translation kept from an earlier call, served because the provider was unavailable.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    public TranslatedText asStale() {
+        return new TranslatedText(text, detectedLanguage, true);
+    }
+
+    /**
+     * @return the number of characters held by this result, used to weigh cache entries.
+     */
+    public int weight() {
+        return Math.max(1, text == null ? 0 : text.length());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TranslatedText)) {
+            return false;
+        }
+        TranslatedText that = (TranslatedText) o;
+        return Objects.equals(text, that.text) && Objects.equals(detectedLanguage, that.detectedLanguage) && stale == that.stale;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(text, detectedLanguage, stale);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TranslatedText{" +
+            "text='" + text + "'" +
+            ", detectedLanguage='" + detectedLanguage + "'" +
+            ", stale='" + stale + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,270 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Coalesces concurrent translations into the same language into a single multi-content {@link TranslationProvider} call.
+ * <p>
+ * A batch is opened by the first content for a target language and mime type, and is sent when the configured window
+ * elapses or when it reaches the maximum number of contents or characters, whichever comes first. Each caller
+ * receives the translation found at its own index of the response. The provider call is cancelled once every caller
+ * waiting on the batch has cancelled.
+ * <p>
+ * Batches wait for the {@link TranslationRateLimiter} before being sent, so a burst above the provider quota is
+ * smoothed out instead of being rejected by the provider. A slow call may be hedged by the {@link TranslationHedger}.
+ * <p>
+ * Each provider call, a hedge included, goes through the translation circuit breaker and its time limiter on its own,
+ * so that the time spent in a lane, waiting for the quota or for the batch window is never taken for a slow provider.
+ * <p>
+ * Contents are only batched with contents of the same {@link TranslationPriority}, read from the Reactor context of the
+ * caller, and batches wait in the {@link TranslationLanes lane} of their priority before anything else.
+ */
+@Component
+public class TranslationBatcher {
+
+    private final Logger log = LoggerFactory.getLogger(TranslationBatcher.class);
+
+    private final TranslationProvider translationProvider;
+
+    private final TranslationRateLimiter rateLimiter;
+
+    private final TranslationHedger translationHedger;
+
+    private final TranslationLanes translationLanes;
+
+    private final ReactiveCircuitBreaker translationCircuitBreaker;
+
+    private final Duration window;
+
+    private final int maxSize;
+
+    private final int maxCharacters;
+
+    private final DistributionSummary batchSize;
+
+    private final Map<BatchKey, Batch> openBatches = new HashMap<>();
+
+    public TranslationBatcher(
+        TranslationProvider translationProvider,
+        TranslationRateLimiter rateLimiter,
+        TranslationHedger translationHedger,
+        TranslationLanes translationLanes,
+        ReactiveCircuitBreaker translationCircuitBreaker,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.Translation.Batch properties = applicationProperties.getTranslation().getBatch();
+        this.translationProvider = translationProvider;
+        this.rateLimiter = rateLimiter;
+        this.translationHedger = translationHedger;
+        this.translationLanes = translationLanes;
+        this.translationCircuitBreaker = translationCircuitBreaker;
+        this.window = properties.getWindow();
+        this.maxSize = properties.getMaxSize();
+        this.maxCharacters = properties.getMaxCharacters();
+        this.batchSize =
+            DistributionSummary
+                .builder("translation.batch.size")
+                .description("Number of contents sent in one provider call")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Translates a content, possibly together with other contents requested concurrently.
+     *
+     * @param content the text to translate.
+     * @param targetLanguage the language code to translate into.
+     * @param mimeType the mime type of the content.
+     * @return the translation of the content.
+     */
+    public Mono<TranslatedText> translate(String content, String targetLanguage, String mimeType) {
+        return Mono.create(sink -> {
+            PendingTranslation pending = new PendingTranslation(content, sink);
+            // registered before the caller is batched, so that a caller cancelled meanwhile is never waited for
+            sink.onCancel(pending::cancel);
+            add(new BatchKey(targetLanguage, mimeType, TranslationPriority.of(sink.contextView())), pending);
+        });
+    }
+
+    private void add(BatchKey key, PendingTranslation pending) {
+        List<Batch> ready = new ArrayList<>(2);
+        synchronized (openBatches) {
+            Batch batch = openBatches.get(key);
+            if (batch != null && batch.characters + pending.content.length() > maxCharacters) {
+                openBatches.remove(key);
+                ready.add(batch);
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(key);
+                openBatches.put(key, batch);
+                Batch scheduled = batch;
+                Schedulers.parallel().schedule(() -> expire(scheduled), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch.add(pending);
+            if (batch.items.size() >= maxSize || batch.characters >= maxCharacters) {
+                openBatches.remove(key);
+                ready.add(batch);
+            }
+        }
+        ready.forEach(this::send);
+    }
+
+    private void expire(Batch batch) {
+        synchronized (openBatches) {
+            if (!openBatches.remove(batch.key, batch)) {
+                return;
+            }
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        List<PendingTranslation> items = batch.items.stream().filter(item -> !item.cancelled).collect(Collectors.toList());
+        if (items.isEmpty()) {
+            return;
+        }
+        batchSize.record(items.size());
+        List<String> contents = items.stream().map(item -> item.content).collect(Collectors.toList());
+        int characters = contents.stream().mapToInt(String::length).sum();
+        Mono<List<TranslatedText>> call = translationCircuitBreaker.run(
+            Mono.defer(() -> translationProvider.translate(contents, batch.key.targetLanguage, batch.key.mimeType))
+        );
+        batch.call.update(
+            translationLanes
+                .run(
+                    batch.key.priority,
+                    rateLimiter.acquire(characters),
+                    translationHedger.hedge(call, rateLimiter.acquire(characters).then(call))
+                )
+                .subscribe(translations -> complete(items, translations), error -> items.forEach(item -> item.sink.error(error)))
+        );
+    }
+
+    private void complete(List<PendingTranslation> items, List<TranslatedText> translations) {
+        if (translations.size() != items.size()) {
+            log.warn("Expected {} translations but received {}", items.size(), translations.size());
+            IllegalStateException error = new IllegalStateException("Translation response does not match the request");
+            items.forEach(item -> item.sink.error(error));
+            return;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).sink.success(translations.get(i));
+        }
+    }
+
+    private static final class BatchKey {
+
+        private final String targetLanguage;
+
+        private final String mimeType;
+
+        private final TranslationPriority priority;
+
+        private BatchKey(String targetLanguage, String mimeType, TranslationPriority priority) {
+            this.targetLanguage = targetLanguage;
+            this.mimeType = mimeType;
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey that = (BatchKey) o;
+            return targetLanguage.equals(that.targetLanguage) && mimeType.equals(that.mimeType) && priority == that.priority;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(targetLanguage, mimeType, priority);
+        }
+    }
+
+    private static final class Batch {
+
+        private final BatchKey key;
+
+        private final List<PendingTranslation> items = new ArrayList<>();
+
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        private final Disposable.Swap call = Disposables.swap();
+
+        private int characters;
+
+        private Batch(BatchKey key) {
+            this.key = key;
+        }
+
+        private void add(PendingTranslation pending) {
+            // under the lock of the caller, so that a cancellation either finds the batch or keeps the caller out of it
+            synchronized (pending) {
+                if (pending.cancelled) {
+                    return;
+                }
+                items.add(pending);
+                characters += pending.content.length();
+                waiting.incrementAndGet();
+                pending.batch = this;
+            }
+        }
+
+        private void cancelWaiter() {
+            if (waiting.decrementAndGet() == 0) {
+                call.dispose();
+            }
+        }
+    }
+
+    private static final class PendingTranslation {
+
+        private final String content;
+
+        private final MonoSink<TranslatedText> sink;
+
+        private volatile Batch batch;
+
+        private volatile boolean cancelled;
+
+        private PendingTranslation(String content, MonoSink<TranslatedText> sink) {
+            this.content = content;
+            this.sink = sink;
+        }
+
+        private void cancel() {
+            Batch current;
+            synchronized (this) {
+                cancelled = true;
+                current = batch;
+            }
+            if (current != null) {
+                current.cancelWaiter();
+            }
+        }
+    }
+}
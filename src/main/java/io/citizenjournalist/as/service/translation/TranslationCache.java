@@ -0,0 +1,87 @@
+package io.citizenjournalist.as.service.translation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process cache of provider results.
+ * <p>
+ * The cache is bounded by the number of translated characters it holds rather than by its entry count, so that a few
+ * long articles cannot crowd out many short headlines unnoticed. Hits, misses and evictions are published as
+ * {@code cache.*} metrics tagged {@code cache=translation}.
+ * <p>
+ * Expired translations are kept longer in a second, larger tier which is only read through {@link #getStale} when the
+ * provider cannot be reached.
+ */
+@Component
+public class TranslationCache {
+
+    public static final String CACHE_NAME = "translation";
+
+    private final Cache<TranslationKey, TranslatedText> cache;
+
+    private final Cache<TranslationKey, TranslatedText> lastKnown;
+
+    public TranslationCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Translation.Cache properties = applicationProperties.getTranslation().getCache();
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .maximumWeight(properties.getMaxWeight())
+                .weigher((TranslationKey key, TranslatedText value) -> value.weight())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        this.lastKnown =
+            Caffeine
+                .newBuilder()
+                .maximumWeight(properties.getStaleMaxWeight())
+                .weigher((TranslationKey key, TranslatedText value) -> value.weight())
+                .expireAfterWrite(properties.getStaleTimeToLive())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<TranslatedText> get(TranslationKey key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * Looks up the last known translation of a content, even if it has expired from the cache.
+     *
+     * @param key the translation key.
+     * @return the last known translation, marked as stale.
+     */
+    public Optional<TranslatedText> getStale(TranslationKey key) {
+        return Optional.ofNullable(lastKnown.getIfPresent(key)).map(TranslatedText::asStale);
+    }
+
+    public void put(TranslationKey key, TranslatedText value) {
+        cache.put(key, value);
+        lastKnown.put(key, value);
+    }
+
+    /**
+     * Forgets the translation of a content, stale included, typically because its persisted translation was edited or
+     * deleted.
+     *
+     * @param key the translation key.
+     */
+    public void evict(TranslationKey key) {
+        cache.invalidate(key);
+        lastKnown.invalidate(key);
+    }
+
+    /**
+     * Forgets every fresh translation, typically because they were made with another glossary. The last known
+     * translations are kept: serving one stale still beats failing while the provider is unavailable.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
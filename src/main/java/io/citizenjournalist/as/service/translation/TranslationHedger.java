@@ -0,0 +1,127 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Issues a second, identical provider call when the first one is slower than most recent calls.
+ * <p>
+ * The hedge is sent once the first call has been running for longer than the configured percentile of the latencies
+ * observed recently, and whichever call answers first wins while the other is cancelled. Each call earns a fraction of
+ * a hedge, so that hedges never add more than the configured share of extra calls.
+ * <p>
+ * The latency of the first call is sampled whatever its outcome. When it is cancelled, the time it ran until then is
+ * sampled, a lower bound of its latency.
+ */
+@Component
+public class TranslationHedger {
+
+    private static final int MAX_BUDGET = 10;
+
+    private final ApplicationProperties.Translation.Hedge properties;
+
+    private final long[] latencies;
+
+    private final Counter fired;
+
+    private final Counter won;
+
+    private int samples;
+
+    private int nextSample;
+
+    private int samplesSinceThreshold;
+
+    private long thresholdNanos = Long.MAX_VALUE;
+
+    private double budget;
+
+    public TranslationHedger(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getTranslation().getHedge();
+        this.latencies = new long[properties.getWindowSize()];
+        this.fired = Counter.builder("translation.hedge.fired").description("Hedged provider calls sent").register(meterRegistry);
+        this.won = Counter.builder("translation.hedge.won").description("Hedged provider calls answering first").register(meterRegistry);
+        Gauge
+            .builder("translation.hedge.delay", this, TranslationHedger::delaySeconds)
+            .description("Time after which a provider call is hedged, in seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs a provider call, hedged by a second one if it is slow.
+     *
+     * @param call the provider call.
+     * @param hedge an identical provider call, subscribed only when hedging.
+     * @param <T> the type of the result.
+     * @return the result of whichever call answers first.
+     */
+    public <T> Mono<T> hedge(Mono<T> call, Mono<T> hedge) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            earnBudget();
+            long start = System.nanoTime();
+            // a call cancelled because the hedge won, or failing, is sampled too: leaving it out would hide the slow tail
+            Mono<T> timed = call.doFinally(signal -> record(System.nanoTime() - start));
+            Duration delay = delay();
+            if (delay == null) {
+                return timed;
+            }
+            Mono<T> hedged = Mono
+                .delay(delay)
+                .flatMap(tick -> {
+                    if (!spendBudget()) {
+                        return Mono.<T>never();
+                    }
+                    fired.increment();
+                    return hedge.doOnNext(result -> won.increment()).onErrorResume(error -> Mono.never());
+                });
+            return Mono.firstWithSignal(timed, hedged);
+        });
+    }
+
+    private synchronized Duration delay() {
+        if (thresholdNanos == Long.MAX_VALUE) {
+            return null;
+        }
+        return Duration.ofNanos(Math.max(thresholdNanos, properties.getMinDelay().toNanos()));
+    }
+
+    private synchronized double delaySeconds() {
+        Duration delay = delay();
+        return delay == null ? Double.NaN : delay.toNanos() / 1e9;
+    }
+
+    private synchronized void earnBudget() {
+        budget = Math.min(MAX_BUDGET, budget + properties.getBudget());
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private synchronized void record(long latencyNanos) {
+        latencies[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % latencies.length;
+        samples = Math.min(samples + 1, latencies.length);
+        // sorting the window on every call would cost more than the calls it hedges
+        if (samples >= properties.getMinSamples() && ++samplesSinceThreshold >= Math.max(1, properties.getMinSamples() / 4)) {
+            samplesSinceThreshold = 0;
+            long[] sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(properties.getPercentile() * samples) - 1;
+            thresholdNanos = sorted[Math.max(0, Math.min(samples - 1, index))];
+        }
+    }
+}
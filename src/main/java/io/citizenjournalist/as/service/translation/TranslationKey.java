@@ -0,0 +1,106 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.domain.enumeration.Language;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Objects;
+
+/**
+ * Content-addressed identity of a translation: the hash of the normalized input, the target language and the mime type.
+ */
+public final class TranslationKey {
+
+    private final String contentHash;
+
+    private final String targetLanguage;
+
+    private final String mimeType;
+
+    private TranslationKey(String contentHash, String targetLanguage, String mimeType) {
+        this.contentHash = contentHash;
+        this.targetLanguage = targetLanguage;
+        this.mimeType = mimeType;
+    }
+
+    public static TranslationKey of(String inputText, Language language, String mimeType) {
+        return of(inputText, language.getShortName(), mimeType);
+    }
+
+    public static TranslationKey of(String inputText, String targetLanguage, String mimeType) {
+        return new TranslationKey(contentHash(inputText), targetLanguage, mimeType);
+    }
+
+    /**
+     * Normalizes a text so that inputs only differing in Unicode composition or surrounding whitespace share a key.
+     *
+     * @param text the text to normalize.
+     * @return the normalized text.
+     */
+    public static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).strip();
+    }
+
+    /**
+     * Computes the SHA-256 hash of the normalized text, as lowercase hex.
+     *
+     * @param text the text to hash.
+     * @return the hex encoded hash.
+     */
+    public static String contentHash(String text) {
+        byte[] digest = sha256().digest(normalize(text).getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public String getTargetLanguage() {
+        return targetLanguage;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TranslationKey)) {
+            return false;
+        }
+        TranslationKey that = (TranslationKey) o;
+        return contentHash.equals(that.contentHash) && targetLanguage.equals(that.targetLanguage) && mimeType.equals(that.mimeType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(contentHash, targetLanguage, mimeType);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TranslationKey{" +
+            "contentHash='" + contentHash + "'" +
+            ", targetLanguage='" + targetLanguage + "'" +
+            ", mimeType='" + mimeType + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,383 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Schedules the provider calls of each {@link TranslationPriority} in its own lane.
+ * <p>
+ * Each lane has a bounded FIFO queue and a budget of calls in flight, and all lanes share a global limit. When a slot
+ * frees up, it goes to the next lane with a waiting call and room in its budget, picked by smooth weighted round robin,
+ * so that a bulk import can neither starve editors nor be starved by them. The interactive lane should have a budget
+ * above the others, so that some slots are always left for it.
+ * <p>
+ * The global limit adapts to the round trip time of the calls with a {@link VegasLimit}: it grows while calls take
+ * about as long as when the provider is idle, and shrinks when they start queuing at the provider or failing. The round
+ * trip time is measured from the end of the admission of a call, so that waiting for the provider quota does not pass
+ * for a slow provider, and a call cut by the breaker timeout counts as failed. Excess load waits in the lanes instead,
+ * and is shed early: a call arriving at a full queue, or expected to wait longer than the configured maximum, is
+ * rejected right away with a {@link TranslationRateLimitExceededException}.
+ * <p>
+ * With lanes disabled, the calls of every priority wait in a single FIFO lane instead, still under the adaptive global
+ * limit, which only {@code adaptive} turns off.
+ * <p>
+ * Waiting calls do not hold a thread. Lanes come before the {@link TranslationRateLimiter}, whose queue then holds at
+ * most the calls of the global limit.
+ */
+@Component
+public class TranslationLanes {
+
+    /**
+     * Weight given to the latest duration of a call in its moving average.
+     */
+    private static final double CALL_DURATION_SMOOTHING = 0.1;
+
+    private final boolean adaptive;
+
+    private final VegasLimit limit;
+
+    private final long maxWaitNanos;
+
+    private final Map<TranslationPriority, Lane> lanes = new EnumMap<>(TranslationPriority.class);
+
+    private final List<Lane> distinctLanes = new ArrayList<>();
+
+    private int inFlight;
+
+    private double averageCallNanos = Duration.ofMillis(100).toNanos();
+
+    public TranslationLanes(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Translation.Lanes properties = applicationProperties.getTranslation().getLanes();
+        this.adaptive = properties.isAdaptive();
+        this.limit = new VegasLimit(properties.getInitialConcurrency(), properties.getMinConcurrency(), properties.getMaxConcurrency());
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        if (properties.isEnabled()) {
+            addLane(TranslationPriority.INTERACTIVE, properties.getInteractive(), meterRegistry);
+            addLane(TranslationPriority.BULK, properties.getBulk(), meterRegistry);
+            addLane(TranslationPriority.BACKGROUND, properties.getBackground(), meterRegistry);
+        } else {
+            int maxQueueDepth =
+                properties.getInteractive().getMaxQueueDepth() +
+                properties.getBulk().getMaxQueueDepth() +
+                properties.getBackground().getMaxQueueDepth();
+            Lane shared = new Lane("shared", 1, properties.getMaxConcurrency(), maxQueueDepth, meterRegistry);
+            distinctLanes.add(shared);
+            for (TranslationPriority priority : TranslationPriority.values()) {
+                lanes.put(priority, shared);
+            }
+        }
+        Gauge
+            .builder("translation.concurrency.limit", this, TranslationLanes::currentLimit)
+            .description("Provider calls allowed in flight, all lanes together")
+            .register(meterRegistry);
+        Gauge
+            .builder("translation.concurrency.in.flight", this, TranslationLanes::totalInFlight)
+            .description("Provider calls in flight, all lanes together")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs a provider call once its lane is given a slot.
+     *
+     * @param priority the priority of the call.
+     * @param call the provider call.
+     * @param <T> the type of the result.
+     * @return the result of the call, or a {@link TranslationRateLimitExceededException} if the lane is full or the call
+     * would wait too long.
+     */
+    public <T> Mono<T> run(TranslationPriority priority, Mono<T> call) {
+        return run(priority, Mono.empty(), call);
+    }
+
+    /**
+     * Runs a provider call once its lane is given a slot and it is admitted.
+     *
+     * @param priority the priority of the call.
+     * @param admission completes when the call may be sent, typically once the provider quota allows it. Its duration
+     * is not part of the round trip time of the call.
+     * @param call the provider call.
+     * @param <T> the type of the result.
+     * @return the result of the call, or a {@link TranslationRateLimitExceededException} if the lane is full or the call
+     * would wait too long.
+     */
+    public <T> Mono<T> run(TranslationPriority priority, Mono<?> admission, Mono<T> call) {
+        Lane lane = lanes.get(priority);
+        return Mono.create(sink -> {
+            Waiter<T> waiter = new Waiter<>(lane, admission, call, sink);
+            sink.onCancel(() -> cancel(waiter));
+            Duration retryAfter = null;
+            boolean granted = false;
+            synchronized (this) {
+                if (lane.queue.isEmpty() && lane.hasRoom() && inFlight < limit.get()) {
+                    take(lane);
+                    granted = true;
+                } else {
+                    Duration expectedWait = estimateWait(lane);
+                    if (lane.queue.size() >= lane.maxQueueDepth || expectedWait.toNanos() > maxWaitNanos) {
+                        retryAfter = expectedWait;
+                    } else {
+                        lane.queue.addLast(waiter);
+                    }
+                }
+            }
+            if (granted) {
+                start(waiter);
+            } else if (retryAfter != null) {
+                lane.rejected.increment();
+                sink.error(new TranslationRateLimitExceededException(retryAfter));
+            }
+        });
+    }
+
+    private <T> void start(Waiter<T> waiter) {
+        long start = System.nanoTime();
+        if (waiter.cancelled) {
+            // cancelled after it was given a slot, before it could start: the slot goes to the next waiter
+            release(waiter, start, Outcome.CANCELLED);
+            return;
+        }
+        waiter.lane.wait.record(start - waiter.queuedAt, TimeUnit.NANOSECONDS);
+        waiter.running.update(
+            waiter.admission
+                .then(
+                    Mono.defer(() -> {
+                        waiter.calledAt = System.nanoTime();
+                        return waiter.call;
+                    })
+                )
+                .contextWrite(waiter.sink.contextView())
+                .doOnCancel(() -> release(waiter, start, Outcome.CANCELLED))
+                .subscribe(
+                    waiter.sink::success,
+                    error -> {
+                        release(waiter, start, isDrop(error) ? Outcome.DROPPED : Outcome.FAILED);
+                        waiter.sink.error(error);
+                    },
+                    () -> {
+                        release(waiter, start, Outcome.SUCCEEDED);
+                        waiter.sink.success();
+                    }
+                )
+        );
+    }
+
+    private void cancel(Waiter<?> waiter) {
+        synchronized (this) {
+            waiter.cancelled = true;
+            if (waiter.lane.queue.remove(waiter)) {
+                return;
+            }
+        }
+        waiter.running.dispose();
+    }
+
+    /**
+     * Whether a call failed because the provider was overloaded or unavailable, or too slow to answer before the breaker
+     * timeout.
+     */
+    private static boolean isDrop(Throwable error) {
+        return (
+            error instanceof TimeoutException ||
+            (error instanceof TranslationProviderException && ((TranslationProviderException) error).isRetryable())
+        );
+    }
+
+    private void release(Waiter<?> waiter, long start, Outcome outcome) {
+        long now = System.nanoTime();
+        long calledAt = waiter.calledAt;
+        Lane lane = waiter.lane;
+        List<Waiter<?>> granted = new ArrayList<>();
+        synchronized (this) {
+            if (adaptive && calledAt != 0 && (outcome == Outcome.SUCCEEDED || outcome == Outcome.DROPPED)) {
+                limit.onSample(now - calledAt, inFlight, outcome == Outcome.DROPPED);
+            }
+            if (outcome == Outcome.SUCCEEDED) {
+                // the whole time the slot was held, admission included, which is what a waiting call waits for
+                averageCallNanos += CALL_DURATION_SMOOTHING * (now - start - averageCallNanos);
+            }
+            lane.inFlight--;
+            inFlight--;
+            Lane next;
+            while (inFlight < limit.get() && (next = nextLane()) != null) {
+                take(next);
+                granted.add(next.queue.pollFirst());
+            }
+        }
+        granted.forEach(this::start);
+    }
+
+    /**
+     * Picks the next lane to give a slot to, by smooth weighted round robin among the lanes able to take one.
+     */
+    private Lane nextLane() {
+        Lane best = null;
+        int totalWeight = 0;
+        for (Lane lane : distinctLanes) {
+            if (lane.queue.isEmpty() || !lane.hasRoom()) {
+                continue;
+            }
+            lane.currentWeight += lane.weight;
+            totalWeight += lane.weight;
+            if (best == null || lane.currentWeight > best.currentWeight) {
+                best = lane;
+            }
+        }
+        if (best != null) {
+            best.currentWeight -= totalWeight;
+        }
+        return best;
+    }
+
+    private void take(Lane lane) {
+        lane.inFlight++;
+        inFlight++;
+    }
+
+    /**
+     * Estimates how long a call joining the queue of a lane would wait, from the recent duration of the calls.
+     */
+    private Duration estimateWait(Lane lane) {
+        int slots = Math.max(1, Math.min(lane.concurrency, limit.get()));
+        return Duration.ofNanos((long) (averageCallNanos * (lane.queue.size() / (double) slots + 1)));
+    }
+
+    private void addLane(
+        TranslationPriority priority,
+        ApplicationProperties.Translation.Lanes.Lane properties,
+        MeterRegistry meterRegistry
+    ) {
+        Lane lane = new Lane(
+            priority.name().toLowerCase(Locale.ROOT),
+            properties.getWeight(),
+            properties.getConcurrency(),
+            properties.getMaxQueueDepth(),
+            meterRegistry
+        );
+        lanes.put(priority, lane);
+        distinctLanes.add(lane);
+    }
+
+    private synchronized double currentLimit() {
+        return limit.get();
+    }
+
+    private synchronized double totalInFlight() {
+        return inFlight;
+    }
+
+    private synchronized double queueDepth(Lane lane) {
+        return lane.queue.size();
+    }
+
+    private synchronized double inFlight(Lane lane) {
+        return lane.inFlight;
+    }
+
+    private enum Outcome {
+        SUCCEEDED,
+        DROPPED,
+        FAILED,
+        CANCELLED,
+    }
+
+    private final class Lane {
+
+        private final int weight;
+
+        private final int concurrency;
+
+        private final int maxQueueDepth;
+
+        private final Deque<Waiter<?>> queue = new ArrayDeque<>();
+
+        private final Counter rejected;
+
+        private final Timer wait;
+
+        private int inFlight;
+
+        private int currentWeight;
+
+        private Lane(String name, int weight, int concurrency, int maxQueueDepth, MeterRegistry meterRegistry) {
+            this.weight = weight;
+            this.concurrency = concurrency;
+            this.maxQueueDepth = maxQueueDepth;
+            Gauge
+                .builder("translation.lane.queue.depth", this, TranslationLanes.this::queueDepth)
+                .description("Provider calls waiting for a slot")
+                .tag("lane", name)
+                .register(meterRegistry);
+            Gauge
+                .builder("translation.lane.in.flight", this, TranslationLanes.this::inFlight)
+                .description("Provider calls in flight")
+                .tag("lane", name)
+                .register(meterRegistry);
+            this.rejected =
+                Counter
+                    .builder("translation.lane.rejected")
+                    .description("Provider calls rejected because their lane was full")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+            this.wait =
+                Timer
+                    .builder("translation.lane.wait")
+                    .description("Time a provider call waited for a slot")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+        }
+
+        private boolean hasRoom() {
+            return inFlight < concurrency;
+        }
+    }
+
+    private static final class Waiter<T> {
+
+        private final Lane lane;
+
+        private final Mono<?> admission;
+
+        private final Mono<T> call;
+
+        private final MonoSink<T> sink;
+
+        private final Disposable.Swap running = Disposables.swap();
+
+        private final long queuedAt = System.nanoTime();
+
+        /**
+         * When the call was sent to the provider, or 0 while it is being admitted.
+         */
+        private volatile long calledAt;
+
+        /**
+         * Set when the caller cancelled, possibly after the waiter was taken from its queue but before it started.
+         */
+        private volatile boolean cancelled;
+
+        private Waiter(Lane lane, Mono<?> admission, Mono<T> call, MonoSink<T> sink) {
+            this.lane = lane;
+            this.admission = admission;
+            this.call = call;
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.Translation;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.citizenjournalist.as.repository.TranslationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Translation memory over the persisted plain text translations, so that an edited text only pays for the sentences
+ * which changed.
+ * <p>
+ * Each persisted translation is indexed by a MinHash signature of the character shingles of its input, bucketed by
+ * locality-sensitive hashing per target language. Its input and output are split into sentences, and aligned one to
+ * one when they have as many sentences and the length of each pair is in line with the length of the whole texts, so
+ * that a merge and a split in the output do not pair sentences with the translation of their neighbours. Otherwise,
+ * only the whole text is reused. A new input whose estimated similarity to an indexed one reaches the configured
+ * threshold reuses the translation of every sentence it shares with it, after normalization, and only the other
+ * sentences are sent to the provider.
+ * <p>
+ * Only translations made with the current version of the {@link Glossary} are reused.
+ * <p>
+ * The index is loaded from the latest translations once the application is ready, then kept up to date as translations
+ * are saved and deleted. It is bounded both in entries and in characters, the least recently used entries being
+ * evicted first.
+ */
+@Component
+public class TranslationMemory {
+
+    private static final String PLAIN_TEXT = "text/plain";
+
+    private static final int SHINGLE_SIZE = 5;
+
+    private static final int BANDS = 16;
+
+    private static final int ROWS = 4;
+
+    private static final long[] SEEDS = new Random(0x5eed).longs(BANDS * ROWS).toArray();
+
+    private static final int ENTRY_OVERHEAD = BANDS * ROWS * Integer.BYTES;
+
+    /**
+     * Largest factor between the length of a translated sentence and the length expected from the whole texts.
+     */
+    private static final double MAX_LENGTH_DEVIATION = 1.5;
+
+    /**
+     * Characters added to both lengths of a pair, so that short sentences are not held to the ratio of the whole texts.
+     */
+    private static final int LENGTH_SLACK = 10;
+
+    private final Logger log = LoggerFactory.getLogger(TranslationMemory.class);
+
+    private final TranslationRepository translationRepository;
+
+    private final Glossary glossary;
+
+    private final ApplicationProperties.Translation.Memory properties;
+
+    private final int concurrency;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+    private long weight;
+
+    private final Counter hits;
+
+    private final Counter reusedSegments;
+
+    private final Counter translatedSegments;
+
+    public TranslationMemory(
+        TranslationRepository translationRepository,
+        Glossary glossary,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.translationRepository = translationRepository;
+        this.glossary = glossary;
+        this.properties = applicationProperties.getTranslation().getMemory();
+        this.concurrency = applicationProperties.getTranslation().getChunk().getConcurrency();
+        this.hits =
+            Counter
+                .builder("translation.memory.hits")
+                .description("Texts translated from a similar text of the translation memory")
+                .register(meterRegistry);
+        this.reusedSegments =
+            Counter
+                .builder("translation.memory.segments.reused")
+                .description("Sentences reused from the translation memory")
+                .register(meterRegistry);
+        this.translatedSegments =
+            Counter
+                .builder("translation.memory.segments.translated")
+                .description("Sentences of a similar text sent to the provider")
+                .register(meterRegistry);
+        Gauge
+            .builder("translation.memory.entries", this, TranslationMemory::size)
+            .description("Translations in the translation memory")
+            .register(meterRegistry);
+        Gauge
+            .builder("translation.memory.weight", this, TranslationMemory::weight)
+            .description("Characters held by the translation memory")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        translationRepository
+            .findAllBy(PageRequest.of(0, properties.getMaxEntries(), Sort.by(Sort.Direction.DESC, "id")))
+            .collectList()
+            .subscribe(
+                translations -> {
+                    // oldest first, so that the latest translations are the last to be evicted
+                    for (int i = translations.size() - 1; i >= 0; i--) {
+                        add(translations.get(i));
+                    }
+                    log.debug("Loaded {} translations into the translation memory", translations.size());
+                },
+                error -> log.warn("Could not load the translation memory: {}", error.getMessage())
+            );
+    }
+
+    /**
+     * Indexes a persisted translation, replacing the previous version of it.
+     *
+     * @param translation the persisted translation.
+     */
+    public void add(Translation translation) {
+        if (
+            !properties.isEnabled() ||
+            translation.getId() == null ||
+            translation.getInputText() == null ||
+            translation.getOutputText() == null ||
+            translation.getLanguage() == null ||
+            (translation.getMimeType() != null && !PLAIN_TEXT.equals(translation.getMimeType()))
+        ) {
+            return;
+        }
+        Entry entry = new Entry(translation);
+        if (entry.weight > properties.getMaxWeight()) {
+            return;
+        }
+        synchronized (this) {
+            removeEntry(translation.getId());
+            entries.put(translation.getId(), entry);
+            weight += entry.weight;
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bucket(entry.language, band, entry.signature), key -> new HashSet<>()).add(translation.getId());
+            }
+            Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > properties.getMaxEntries() || weight > properties.getMaxWeight()) {
+                Map.Entry<Long, Entry> evicted = eldest.next();
+                eldest.remove();
+                unindex(evicted.getKey(), evicted.getValue());
+            }
+        }
+    }
+
+    /**
+     * Removes a deleted translation from the index.
+     *
+     * @param id the id of the deleted translation.
+     */
+    public synchronized void remove(Long id) {
+        removeEntry(id);
+    }
+
+    /**
+     * Looks up the indexed translation most similar to a text, if similar enough to reuse some of its sentences.
+     *
+     * @param text the text to translate.
+     * @param language the target language.
+     * @return the match, or empty if no indexed translation shares a sentence with the text.
+     */
+    public Optional<Match> find(String text, Language language) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        int[] signature = signature(normalize(text));
+        String glossaryVersion = glossary.version();
+        Entry best = null;
+        double bestSimilarity = properties.getSimilarityThreshold();
+        synchronized (this) {
+            Set<Long> candidates = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                Set<Long> bucket = buckets.get(bucket(language, band, signature));
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+            for (Long id : candidates) {
+                Entry candidate = entries.get(id);
+                if (!Objects.equals(candidate.glossaryVersion, glossaryVersion)) {
+                    continue;
+                }
+                double similarity = similarity(signature, candidate.signature);
+                if (similarity >= bestSimilarity) {
+                    best = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+        Match match = new Match(text, best);
+        if (!match.reusesAny()) {
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(match);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return weight;
+    }
+
+    private void removeEntry(Long id) {
+        Entry removed = entries.remove(id);
+        if (removed != null) {
+            unindex(id, removed);
+        }
+    }
+
+    private void unindex(Long id, Entry entry) {
+        weight -= entry.weight;
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucket(entry.language, band, entry.signature);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static long bucket(Language language, int band, int[] signature) {
+        long hash = ((long) language.ordinal() << 8 | band) * 0x9E3779B97F4A7C15L;
+        for (int row = 0; row < ROWS; row++) {
+            hash = mix(hash ^ signature[band * ROWS + row]);
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the MinHash signature of the character shingles of a normalized text.
+     */
+    static int[] signature(String normalized) {
+        String text = normalized.toLowerCase(Locale.ROOT);
+        int[] signature = new int[SEEDS.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, text.length() - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = text.substring(start, Math.min(text.length(), start + SHINGLE_SIZE)).hashCode();
+            for (int i = 0; i < SEEDS.length; i++) {
+                int hash = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of the shingles of two texts from their signatures.
+     */
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Normalizes a text or sentence so that differences in Unicode composition and whitespace do not prevent reuse.
+     */
+    static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).replaceAll("\\s+", " ").strip();
+    }
+
+    /**
+     * Tells whether the sentences of a text and of its translation are aligned one to one, from their number and their
+     * lengths.
+     */
+    private static boolean aligned(List<TextSegment> inputSentences, List<TextSegment> outputSentences) {
+        if (inputSentences.size() != outputSentences.size()) {
+            return false;
+        }
+        long inputLength = 0;
+        long outputLength = 0;
+        for (int i = 0; i < inputSentences.size(); i++) {
+            inputLength += inputSentences.get(i).getText().length();
+            outputLength += outputSentences.get(i).getText().length();
+        }
+        if (inputLength == 0) {
+            return outputLength == 0;
+        }
+        double ratio = outputLength / (double) inputLength;
+        for (int i = 0; i < inputSentences.size(); i++) {
+            double expected = inputSentences.get(i).getText().length() * ratio + LENGTH_SLACK;
+            double deviation = (outputSentences.get(i).getText().length() + LENGTH_SLACK) / expected;
+            if (deviation > MAX_LENGTH_DEVIATION || deviation < 1 / MAX_LENGTH_DEVIATION) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry {
+
+        private final Language language;
+
+        private final String detectedLanguage;
+
+        private final String glossaryVersion;
+
+        private final int[] signature;
+
+        private final Map<String, String> sentences = new HashMap<>();
+
+        private final long weight;
+
+        private Entry(Translation translation) {
+            String input = normalize(translation.getInputText());
+            this.language = translation.getLanguage();
+            this.detectedLanguage = translation.getDetectedLanguage();
+            this.glossaryVersion = translation.getGlossaryVersion();
+            this.signature = signature(input);
+            sentences.put(input, translation.getOutputText());
+            List<TextSegment> inputSentences = TextChunker.sentences(translation.getInputText());
+            List<TextSegment> outputSentences = TextChunker.sentences(translation.getOutputText());
+            if (aligned(inputSentences, outputSentences)) {
+                for (int i = 0; i < inputSentences.size(); i++) {
+                    if (!inputSentences.get(i).getText().isEmpty()) {
+                        sentences.putIfAbsent(normalize(inputSentences.get(i).getText()), outputSentences.get(i).getText());
+                    }
+                }
+            }
+            long characters = 0;
+            for (Map.Entry<String, String> sentence : sentences.entrySet()) {
+                characters += sentence.getKey().length() + sentence.getValue().length();
+            }
+            this.weight = ENTRY_OVERHEAD + characters;
+        }
+    }
+
+    /**
+     * An indexed translation similar to a text to translate.
+     */
+    public final class Match {
+
+        private final String text;
+
+        private final Entry entry;
+
+        private final String reused;
+
+        private final List<TextSegment> sentences;
+
+        private Match(String text, Entry entry) {
+            this.text = text;
+            this.entry = entry;
+            this.reused = entry.sentences.get(normalize(text));
+            this.sentences = reused == null ? TextChunker.sentences(text) : List.of();
+        }
+
+        private boolean reusesAny() {
+            return reused != null || sentences.stream().anyMatch(sentence -> entry.sentences.containsKey(normalize(sentence.getText())));
+        }
+
+        /**
+         * Translates the text, reusing the sentences found in the memory.
+         *
+         * @param translator translates a sentence which is not in the memory.
+         * @return the translation of the whole text.
+         */
+        public Mono<TranslatedText> translate(Function<String, Mono<TranslatedText>> translator) {
+            if (reused != null) {
+                reusedSegments.increment();
+                return Mono.just(new TranslatedText(reused, entry.detectedLanguage));
+            }
+            return Flux
+                .fromIterable(sentences)
+                .flatMapSequential(sentence -> translateSentence(sentence, translator), concurrency)
+                .collectList()
+                .map(translations -> ChunkingTranslator.join(sentences, translations));
+        }
+
+        private Mono<TranslatedText> translateSentence(TextSegment sentence, Function<String, Mono<TranslatedText>> translator) {
+            if (sentence.getText().isEmpty()) {
+                return Mono.just(new TranslatedText("", null));
+            }
+            String translation = entry.sentences.get(normalize(sentence.getText()));
+            if (translation != null) {
+                reusedSegments.increment();
+                return Mono.just(new TranslatedText(translation, entry.detectedLanguage));
+            }
+            translatedSegments.increment();
+            return translator.apply(sentence.getText());
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "Match{" +
+                "text='" + text + "'" +
+                ", sentences=" + sentences.size() +
+                "}";
+        }
+    }
+}
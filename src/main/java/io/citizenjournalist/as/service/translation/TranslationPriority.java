@@ -0,0 +1,61 @@
+package io.citizenjournalist.as.service.translation;
+
+import java.util.Locale;
+import java.util.Optional;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * The class of a translation request, deciding the {@link TranslationLanes lane} its provider calls wait in.
+ * <p>
+ * The priority travels in the Reactor context of the request, so that it reaches the provider calls without being
+ * passed along every method.
+ */
+public enum TranslationPriority {
+    /**
+     * Requests of an editor waiting on the result.
+     */
+    INTERACTIVE,
+
+    /**
+     * Streams of texts synchronized from a CMS.
+     */
+    BULK,
+
+    /**
+     * Asynchronous jobs nobody waits on.
+     */
+    BACKGROUND;
+
+    private static final Object CONTEXT_KEY = TranslationPriority.class;
+
+    /**
+     * @return a Reactor context holding this priority.
+     */
+    public Context asContext() {
+        return Context.of(CONTEXT_KEY, this);
+    }
+
+    /**
+     * @param context a Reactor context.
+     * @return the priority held by the context, {@link #INTERACTIVE} by default.
+     */
+    public static TranslationPriority of(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, INTERACTIVE);
+    }
+
+    /**
+     * @param name the name of a priority, in any case.
+     * @return the priority, or empty if the name is not one.
+     */
+    public static Optional<TranslationPriority> parse(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.citizenjournalist.as.service.translation;
+
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/**
+ * A remote (or simulated) machine translation service.
+ * <p>
+ * Implementations must not block the calling thread, and should abort the underlying call when the returned
+ * {@link Mono} is cancelled. Failures are reported as {@link TranslationProviderException}.
+ */
+public interface TranslationProvider {
+    /**
+     * Translates contents into a target language in a single call.
+     *
+     * @param contents the texts to translate.
+     * @param targetLanguage the language code to translate into.
+     * @param mimeType the mime type of the contents.
+     * @return one translation per content, in the order of the contents.
+     */
+    Mono<List<TranslatedText>> translate(List<String> contents, String targetLanguage, String mimeType);
+}
@@ -0,0 +1,23 @@
+package io.citizenjournalist.as.service.translation;
+
+/**
+ * Thrown when a {@link TranslationProvider} fails to translate.
+ */
+public class TranslationProviderException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean retryable;
+
+    public TranslationProviderException(String message, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+
+    /**
+     * @return whether the same call may succeed when it is repeated.
+     */
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
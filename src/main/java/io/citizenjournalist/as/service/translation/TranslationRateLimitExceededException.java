@@ -0,0 +1,22 @@
+package io.citizenjournalist.as.service.translation;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the translation quota is exhausted and no more callers can be queued.
+ */
+public class TranslationRateLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public TranslationRateLimitExceededException(Duration retryAfter) {
+        super("Translation quota exhausted, retry after " + retryAfter.toSeconds() + "s");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
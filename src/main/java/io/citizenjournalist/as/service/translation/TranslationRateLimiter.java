@@ -0,0 +1,212 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Token bucket metering the characters and the calls sent to the translation provider.
+ * <p>
+ * Both buckets refill continuously at their per-minute quota and hold at most one minute of quota. A call which does
+ * not fit in the buckets waits in a FIFO queue, without holding a thread, until enough tokens have accumulated. When
+ * the queue is full the call is rejected with a {@link TranslationRateLimitExceededException} telling when the quota
+ * is expected to allow it.
+ */
+@Component
+public class TranslationRateLimiter {
+
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final boolean enabled;
+
+    private final double characterCapacity;
+
+    private final double requestCapacity;
+
+    private final double charactersPerNano;
+
+    private final double requestsPerNano;
+
+    private final int maxQueueDepth;
+
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+
+    private final Counter rejected;
+
+    private double characters;
+
+    private double requests;
+
+    private long queuedCharacters;
+
+    private long lastRefill = System.nanoTime();
+
+    private boolean drainScheduled;
+
+    public TranslationRateLimiter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Translation.RateLimit properties = applicationProperties.getTranslation().getRateLimit();
+        this.enabled = properties.isEnabled();
+        this.characterCapacity = properties.getCharactersPerMinute();
+        this.requestCapacity = properties.getRequestsPerMinute();
+        this.charactersPerNano = characterCapacity / NANOS_PER_MINUTE;
+        this.requestsPerNano = requestCapacity / NANOS_PER_MINUTE;
+        this.maxQueueDepth = properties.getMaxQueueDepth();
+        this.characters = characterCapacity;
+        this.requests = requestCapacity;
+        Gauge
+            .builder("translation.ratelimit.characters.available", this, TranslationRateLimiter::availableCharacters)
+            .description("Characters which can be sent to the provider without waiting")
+            .register(meterRegistry);
+        Gauge
+            .builder("translation.ratelimit.requests.available", this, TranslationRateLimiter::availableRequests)
+            .description("Calls which can be sent to the provider without waiting")
+            .register(meterRegistry);
+        Gauge
+            .builder("translation.ratelimit.queue.depth", this, TranslationRateLimiter::queueDepth)
+            .description("Calls waiting for quota")
+            .register(meterRegistry);
+        this.rejected =
+            Counter
+                .builder("translation.ratelimit.rejected")
+                .description("Calls rejected because the quota was exhausted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits until one call sending the given number of characters fits in the quota.
+     *
+     * @param characterCount the number of characters about to be sent.
+     * @return a {@link Mono} completing once the call may proceed, or failing with a
+     * {@link TranslationRateLimitExceededException} if the queue is full.
+     */
+    public Mono<Void> acquire(int characterCount) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(Math.min(characterCount, characterCapacity), sink);
+            Duration retryAfter = null;
+            boolean granted = false;
+            synchronized (this) {
+                refill();
+                if (queue.isEmpty() && tryTake(waiter)) {
+                    granted = true;
+                } else if (queue.size() >= maxQueueDepth) {
+                    retryAfter = estimateWait(waiter.characters);
+                } else {
+                    queue.addLast(waiter);
+                    queuedCharacters += (long) waiter.characters;
+                    scheduleDrain();
+                }
+            }
+            if (granted) {
+                sink.success();
+            } else if (retryAfter != null) {
+                rejected.increment();
+                sink.error(new TranslationRateLimitExceededException(retryAfter));
+            } else {
+                sink.onCancel(() -> cancel(waiter));
+            }
+        });
+    }
+
+    private synchronized void cancel(Waiter waiter) {
+        if (queue.remove(waiter)) {
+            queuedCharacters -= (long) waiter.characters;
+        }
+    }
+
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            drainScheduled = false;
+            refill();
+            while (!queue.isEmpty() && tryTake(queue.peekFirst())) {
+                Waiter waiter = queue.pollFirst();
+                queuedCharacters -= (long) waiter.characters;
+                granted.add(waiter);
+            }
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+        granted.forEach(waiter -> waiter.sink.success());
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled) {
+            return;
+        }
+        drainScheduled = true;
+        Waiter head = queue.peekFirst();
+        long delay = Math.max(nanosUntil(head.characters - characters, charactersPerNano), nanosUntil(1 - requests, requestsPerNano));
+        Schedulers.parallel().schedule(this::drain, Math.max(delay, 1), TimeUnit.NANOSECONDS);
+    }
+
+    private Duration estimateWait(double characterCount) {
+        return Duration.ofNanos(
+            Math.max(
+                nanosUntil(queuedCharacters + characterCount - characters, charactersPerNano),
+                nanosUntil(queue.size() + 1 - requests, requestsPerNano)
+            )
+        );
+    }
+
+    private static long nanosUntil(double missingTokens, double tokensPerNano) {
+        return missingTokens <= 0 ? 0 : (long) Math.ceil(missingTokens / tokensPerNano);
+    }
+
+    private boolean tryTake(Waiter waiter) {
+        if (characters < waiter.characters || requests < 1) {
+            return false;
+        }
+        characters -= waiter.characters;
+        requests -= 1;
+        return true;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefill;
+        lastRefill = now;
+        characters = Math.min(characterCapacity, characters + elapsed * charactersPerNano);
+        requests = Math.min(requestCapacity, requests + elapsed * requestsPerNano);
+    }
+
+    private synchronized double availableCharacters() {
+        refill();
+        return characters;
+    }
+
+    private synchronized double availableRequests() {
+        refill();
+        return requests;
+    }
+
+    private synchronized double queueDepth() {
+        return queue.size();
+    }
+
+    private static final class Waiter {
+
+        private final double characters;
+
+        private final MonoSink<Void> sink;
+
+        private Waiter(double characters, MonoSink<Void> sink) {
+            this.characters = characters;
+            this.sink = sink;
+        }
+    }
+}
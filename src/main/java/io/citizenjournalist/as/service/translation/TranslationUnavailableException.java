@@ -0,0 +1,13 @@
+package io.citizenjournalist.as.service.translation;
+
+/**
+ * Thrown when the translation provider is unavailable and no earlier translation of the content is known.
+ */
+public class TranslationUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TranslationUnavailableException(Throwable cause) {
+        super("Translation provider unavailable", cause);
+    }
+}
@@ -0,0 +1,307 @@
+package io.citizenjournalist.as.service.translation;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.Translation;
+import io.citizenjournalist.as.repository.TranslationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.retry.Retry;
+
+/**
+ * Inserts new translations in the background, in batches.
+ * <p>
+ * A {@link #write} completes as soon as its translations are buffered. The buffer is flushed when it holds a full
+ * batch, every flush interval, and on shutdown, one multi-row {@code INSERT} per batch and one flush at a time. A batch
+ * is retried with backoff only when it failed transiently, in which case the database rolled it back; any other failure
+ * may come after the commit, so the batch is dropped and counted rather than inserted twice. Inserted translations are
+ * added to the {@link TranslationMemory}, which needs their id: a batch whose ids do not all come back is counted as
+ * dropped too.
+ * <p>
+ * The buffer is bounded by the characters of the texts it holds, the batches being inserted included. A write which
+ * does not fit waits, without holding a thread, until enough translations are inserted; writes are let in first come
+ * first served. A write larger than the bound is let in alone.
+ */
+@Component
+public class TranslationWriteBehind {
+
+    private final Logger log = LoggerFactory.getLogger(TranslationWriteBehind.class);
+
+    private final TranslationRepository translationRepository;
+
+    private final TranslationMemory translationMemory;
+
+    private final ApplicationProperties.Translation.WriteBehind properties;
+
+    private final Deque<Translation> buffer = new ArrayDeque<>();
+
+    private final Deque<Writer> writers = new ArrayDeque<>();
+
+    private long bufferedCharacters;
+
+    private boolean flushing;
+
+    private Mono<Void> flush = Mono.empty();
+
+    private Disposable timer;
+
+    private final Counter flushed;
+
+    private final Counter failures;
+
+    private final Counter dropped;
+
+    private final DistributionSummary batchSize;
+
+    public TranslationWriteBehind(
+        TranslationRepository translationRepository,
+        TranslationMemory translationMemory,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.translationRepository = translationRepository;
+        this.translationMemory = translationMemory;
+        this.properties = applicationProperties.getTranslation().getWriteBehind();
+        Gauge
+            .builder("translation.write.behind.buffered", this, TranslationWriteBehind::buffered)
+            .description("Translations buffered and not inserted yet")
+            .register(meterRegistry);
+        Gauge
+            .builder("translation.write.behind.buffered.characters", this, TranslationWriteBehind::characters)
+            .description("Characters held by the write-behind buffer, the batches being inserted included")
+            .register(meterRegistry);
+        Gauge
+            .builder("translation.write.behind.waiting", this, TranslationWriteBehind::waiting)
+            .description("Writes waiting for room in the buffer")
+            .register(meterRegistry);
+        this.flushed =
+            Counter.builder("translation.write.behind.flushed").description("Buffered translations inserted").register(meterRegistry);
+        this.failures =
+            Counter
+                .builder("translation.write.behind.failures")
+                .description("Failed attempts to insert a batch of buffered translations")
+                .register(meterRegistry);
+        this.dropped =
+            Counter
+                .builder("translation.write.behind.dropped")
+                .description("Buffered translations dropped because their batch could not be inserted, or its ids were not returned")
+                .register(meterRegistry);
+        this.batchSize =
+            DistributionSummary
+                .builder("translation.write.behind.batch.size")
+                .description("Translations inserted by a single statement")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        timer = Flux.interval(properties.getFlushInterval()).onBackpressureDrop().subscribe(tick -> flush());
+    }
+
+    /**
+     * Stops the timer and inserts the buffered translations, waiting at most the shutdown timeout.
+     */
+    @PreDestroy
+    public void stop() {
+        if (timer != null) {
+            timer.dispose();
+        }
+        try {
+            flush().block(properties.getShutdownTimeout());
+        } catch (IllegalStateException e) {
+            log.error("Could not insert {} buffered translations before shutdown", buffered());
+        }
+    }
+
+    /**
+     * Buffers new translations to insert.
+     *
+     * @param translations the translations, without id.
+     * @return a {@link Mono} completing once the translations are buffered.
+     */
+    public Mono<Void> write(List<Translation> translations) {
+        if (translations.isEmpty()) {
+            return Mono.empty();
+        }
+        long characters = characters(translations);
+        return Mono.create(sink -> {
+            Writer writer = new Writer(translations, characters, sink);
+            boolean accepted;
+            boolean full;
+            synchronized (this) {
+                accepted = writers.isEmpty() && fits(characters);
+                if (accepted) {
+                    add(writer);
+                } else {
+                    writers.addLast(writer);
+                    sink.onCancel(() -> cancel(writer));
+                }
+                full = !accepted || buffer.size() >= properties.getMaxBatchSize();
+            }
+            if (full) {
+                flush();
+            }
+            if (accepted) {
+                sink.success();
+            }
+        });
+    }
+
+    /**
+     * Starts a flush unless one is running already.
+     *
+     * @return the running flush, which completes once the buffer is empty.
+     */
+    private Mono<Void> flush() {
+        Mono<Void> started = null;
+        Mono<Void> current;
+        synchronized (this) {
+            if (!flushing && !buffer.isEmpty()) {
+                flushing = true;
+                flush = drain().cache();
+                started = flush;
+            }
+            current = flush;
+        }
+        if (started != null) {
+            started.subscribe();
+        }
+        return current;
+    }
+
+    /**
+     * Inserts the buffered translations batch after batch, until the buffer is empty.
+     */
+    private Mono<Void> drain() {
+        return Mono.defer(() -> {
+            List<Translation> batch = new ArrayList<>();
+            synchronized (this) {
+                while (batch.size() < properties.getMaxBatchSize() && !buffer.isEmpty()) {
+                    batch.add(buffer.pollFirst());
+                }
+                // cleared in the same lock as the buffer is found empty, so that a write never waits for a flush which ended
+                flushing = !batch.isEmpty();
+            }
+            return batch.isEmpty() ? Mono.empty() : insert(batch).then(drain());
+        });
+    }
+
+    private Mono<Void> insert(List<Translation> batch) {
+        return translationRepository
+            .insertAll(batch)
+            .collectList()
+            .doOnError(error -> failures.increment())
+            .retryWhen(
+                Retry
+                    .backoff(properties.getMaxRetries(), properties.getRetryBackoff())
+                    .filter(TransientDataAccessException.class::isInstance)
+            )
+            .flatMap(ids ->
+                ids.size() == batch.size()
+                    ? Mono.just(ids)
+                    : Mono.error(new IllegalStateException("Inserted " + batch.size() + " translations but got " + ids.size() + " ids"))
+            )
+            .doOnNext(ids -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).setId(ids.get(i));
+                    translationMemory.add(batch.get(i));
+                }
+                flushed.increment(batch.size());
+                batchSize.record(batch.size());
+            })
+            .onErrorResume(error -> {
+                log.error("Could not insert {} buffered translations: {}", batch.size(), error.getMessage());
+                dropped.increment(batch.size());
+                return Mono.empty();
+            })
+            .then(Mono.fromRunnable(() -> release(characters(batch))));
+    }
+
+    /**
+     * Frees the room of inserted translations, and lets in the waiting writes which then fit.
+     */
+    private void release(long characters) {
+        List<Writer> admitted = new ArrayList<>();
+        synchronized (this) {
+            bufferedCharacters -= characters;
+            while (!writers.isEmpty() && fits(writers.peekFirst().characters)) {
+                Writer writer = writers.pollFirst();
+                add(writer);
+                admitted.add(writer);
+            }
+        }
+        admitted.forEach(writer -> writer.sink.success());
+    }
+
+    private synchronized void cancel(Writer writer) {
+        writers.remove(writer);
+    }
+
+    private boolean fits(long characters) {
+        return bufferedCharacters == 0 || bufferedCharacters + characters <= properties.getMaxBufferedCharacters();
+    }
+
+    private void add(Writer writer) {
+        buffer.addAll(writer.translations);
+        bufferedCharacters += writer.characters;
+    }
+
+    private static long characters(List<Translation> translations) {
+        long characters = 0;
+        for (Translation translation : translations) {
+            characters += translation.getInputText() != null ? translation.getInputText().length() : 0;
+            characters += translation.getOutputText() != null ? translation.getOutputText().length() : 0;
+        }
+        return characters;
+    }
+
+    private synchronized double buffered() {
+        return buffer.size();
+    }
+
+    private synchronized double characters() {
+        return bufferedCharacters;
+    }
+
+    private synchronized double waiting() {
+        return writers.size();
+    }
+
+    private static final class Writer {
+
+        private final List<Translation> translations;
+
+        private final long characters;
+
+        private final MonoSink<Void> sink;
+
+        private Writer(List<Translation> translations, long characters, MonoSink<Void> sink) {
+            this.translations = translations;
+            this.characters = characters;
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.citizenjournalist.as.service.translation;
+
+/**
+ * Concurrency limit adapting to the round trip time of the calls, after TCP Vegas.
+ * <p>
+ * The shortest round trip time seen recently is taken as the time of a call which did not queue. The number of calls
+ * queued at the provider is estimated from how much longer each call takes: the limit grows quickly while that queue
+ * is shorter than {@code log10(limit)}, slowly while it is shorter than {@code 3 log10(limit)}, and shrinks once it is
+ * longer than {@code 6 log10(limit)} or when a call fails. Calls sent while less than half of the limit was in use say
+ * nothing about the capacity of the provider and are ignored. The shortest round trip time is forgotten periodically,
+ * so that the limit follows a provider which became slower for good.
+ * <p>
+ * Not thread-safe: callers synchronize.
+ */
+final class VegasLimit {
+
+    /**
+     * The shortest round trip time is forgotten every this many times the limit samples.
+     */
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private double limit;
+
+    private long noLoadRttNanos;
+
+    private long samplesSinceProbe;
+
+    VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    int get() {
+        return (int) limit;
+    }
+
+    /**
+     * Updates the limit with a finished call.
+     *
+     * @param rttNanos the round trip time of the call.
+     * @param inFlight the number of calls in flight when it finished, itself included.
+     * @param dropped whether the call failed because the provider was overloaded or unavailable.
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped) {
+        double step = Math.max(1, Math.log10(limit));
+        if (dropped) {
+            setLimit(limit - step);
+            return;
+        }
+        if (++samplesSinceProbe >= PROBE_MULTIPLIER * limit) {
+            samplesSinceProbe = 0;
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+        if (noLoadRttNanos == 0 || rttNanos < noLoadRttNanos) {
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+        if (inFlight * 2 < limit) {
+            return;
+        }
+        double queued = Math.ceil(limit * (1 - (double) noLoadRttNanos / rttNanos));
+        if (queued <= step) {
+            setLimit(limit + 6 * step);
+        } else if (queued < 3 * step) {
+            setLimit(limit + step);
+        } else if (queued > 6 * step) {
+            setLimit(limit - step);
+        }
+    }
+
+    private void setLimit(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
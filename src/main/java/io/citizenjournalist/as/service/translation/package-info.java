@@ -0,0 +1,4 @@
+/**
+ * Building blocks of the translation pipeline in front of the translation provider.
+ */
+package io.citizenjournalist.as.service.translation;
@@ -0,0 +1,33 @@
+package io.citizenjournalist.as.web.filter;
+
+import io.citizenjournalist.as.service.translation.TranslationPriority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sets the {@link TranslationPriority} of a request from its {@value #PRIORITY_HEADER} header, or else from its
+ * endpoint: batch translations are {@link TranslationPriority#BULK bulk}, the other requests
+ * {@link TranslationPriority#INTERACTIVE interactive}. An unknown header value is ignored.
+ */
+@Component
+public class TranslationPriorityFilter implements WebFilter {
+
+    public static final String PRIORITY_HEADER = "X-Translation-Priority";
+
+    private static final String BULK_PATH = "/api/translations/batch";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        TranslationPriority priority = TranslationPriority
+            .parse(exchange.getRequest().getHeaders().getFirst(PRIORITY_HEADER))
+            .orElseGet(() ->
+                BULK_PATH.equals(exchange.getRequest().getPath().pathWithinApplication().value())
+                    ? TranslationPriority.BULK
+                    : TranslationPriority.INTERACTIVE
+            );
+        return chain.filter(exchange).contextWrite(priority.asContext());
+    }
+}
@@ -0,0 +1,159 @@
+package io.citizenjournalist.as.web.rest;
+
+import io.citizenjournalist.as.repository.GlossaryTermRepository;
+import io.citizenjournalist.as.service.GlossaryTermService;
+import io.citizenjournalist.as.service.dto.GlossaryTermDTO;
+import io.citizenjournalist.as.web.rest.errors.BadRequestAlertException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Objects;
+import javax.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.reactive.ResponseUtil;
+
+/**
+ * REST controller for managing {@link io.citizenjournalist.as.domain.GlossaryTerm}.
+ */
+@RestController
+@RequestMapping("/api")
+public class GlossaryTermResource {
+
+    private final Logger log = LoggerFactory.getLogger(GlossaryTermResource.class);
+
+    private static final String ENTITY_NAME = "asCmsTranslationGlossaryTerm";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final GlossaryTermService glossaryTermService;
+
+    private final GlossaryTermRepository glossaryTermRepository;
+
+    public GlossaryTermResource(GlossaryTermService glossaryTermService, GlossaryTermRepository glossaryTermRepository) {
+        this.glossaryTermService = glossaryTermService;
+        this.glossaryTermRepository = glossaryTermRepository;
+    }
+
+    /**
+     * {@code POST  /glossary-terms} : Create a new glossaryTerm.
+     *
+     * @param glossaryTermDTO the glossaryTermDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new glossaryTermDTO, or with status {@code 400 (Bad Request)} if the glossaryTerm has already an ID.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/glossary-terms")
+    public Mono<ResponseEntity<GlossaryTermDTO>> createGlossaryTerm(@Valid @RequestBody GlossaryTermDTO glossaryTermDTO)
+        throws URISyntaxException {
+        log.debug("REST request to save GlossaryTerm : {}", glossaryTermDTO);
+        if (glossaryTermDTO.getId() != null) {
+            throw new BadRequestAlertException("A new glossaryTerm cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        return glossaryTermService
+            .save(glossaryTermDTO)
+            .map(result -> {
+                try {
+                    return ResponseEntity
+                        .created(new URI("/api/glossary-terms/" + result.getId()))
+                        .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                        .body(result);
+                } catch (URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+    }
+
+    /**
+     * {@code PUT  /glossary-terms/:id} : Updates an existing glossaryTerm.
+     *
+     * @param id the id of the glossaryTermDTO to save.
+     * @param glossaryTermDTO the glossaryTermDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated glossaryTermDTO,
+     * or with status {@code 400 (Bad Request)} if the glossaryTermDTO is not valid,
+     * or with status {@code 500 (Internal Server Error)} if the glossaryTermDTO couldn't be updated.
+     */
+    @PutMapping("/glossary-terms/{id}")
+    public Mono<ResponseEntity<GlossaryTermDTO>> updateGlossaryTerm(
+        @PathVariable(value = "id", required = false) final Long id,
+        @Valid @RequestBody GlossaryTermDTO glossaryTermDTO
+    ) {
+        log.debug("REST request to update GlossaryTerm : {}, {}", id, glossaryTermDTO);
+        if (glossaryTermDTO.getId() == null) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        if (!Objects.equals(id, glossaryTermDTO.getId())) {
+            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
+        }
+
+        return glossaryTermRepository
+            .existsById(id)
+            .flatMap(exists -> {
+                if (!exists) {
+                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+                }
+
+                return glossaryTermService
+                    .update(glossaryTermDTO)
+                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                    .map(result ->
+                        ResponseEntity
+                            .ok()
+                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                            .body(result)
+                    );
+            });
+    }
+
+    /**
+     * {@code GET  /glossary-terms} : get all the glossaryTerms.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of glossaryTerms in body.
+     */
+    @GetMapping("/glossary-terms")
+    public Mono<List<GlossaryTermDTO>> getAllGlossaryTerms() {
+        log.debug("REST request to get all GlossaryTerms");
+        return glossaryTermService.findAll().collectList();
+    }
+
+    /**
+     * {@code GET  /glossary-terms/:id} : get the "id" glossaryTerm.
+     *
+     * @param id the id of the glossaryTermDTO to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the glossaryTermDTO, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/glossary-terms/{id}")
+    public Mono<ResponseEntity<GlossaryTermDTO>> getGlossaryTerm(@PathVariable Long id) {
+        log.debug("REST request to get GlossaryTerm : {}", id);
+        Mono<GlossaryTermDTO> glossaryTermDTO = glossaryTermService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(glossaryTermDTO);
+    }
+
+    /**
+     * {@code DELETE  /glossary-terms/:id} : delete the "id" glossaryTerm.
+     *
+     * @param id the id of the glossaryTermDTO to delete.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/glossary-terms/{id}")
+    public Mono<ResponseEntity<Void>> deleteGlossaryTerm(@PathVariable Long id) {
+        log.debug("REST request to delete GlossaryTerm : {}", id);
+        return glossaryTermService
+            .delete(id)
+            .then(
+                Mono.just(
+                    ResponseEntity
+                        .noContent()
+                        .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
+                        .build()
+                )
+            );
+    }
+}
@@ -0,0 +1,90 @@
+package io.citizenjournalist.as.web.rest;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.service.TranslationJobService;
+import io.citizenjournalist.as.service.dto.TranslationJobDTO;
+import io.citizenjournalist.as.web.rest.errors.BadRequestAlertException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import javax.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.reactive.ResponseUtil;
+
+/**
+ * REST controller for managing {@link io.citizenjournalist.as.domain.TranslationJob}.
+ */
+@RestController
+@RequestMapping("/api")
+public class TranslationJobResource {
+
+    private final Logger log = LoggerFactory.getLogger(TranslationJobResource.class);
+
+    private static final String ENTITY_NAME = "asCmsTranslationTranslationJob";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final TranslationJobService translationJobService;
+
+    private final Duration maxWait;
+
+    public TranslationJobResource(TranslationJobService translationJobService, ApplicationProperties applicationProperties) {
+        this.translationJobService = translationJobService;
+        this.maxWait = applicationProperties.getTranslation().getJob().getMaxWait();
+    }
+
+    /**
+     * {@code POST  /translation-jobs} : Submit a new translation job, processed in the background.
+     *
+     * @param translationJobDTO the input text and the target language.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the pending translationJobDTO, or with status {@code 400 (Bad Request)} if the job has already an ID.
+     */
+    @PostMapping("/translation-jobs")
+    public Mono<ResponseEntity<TranslationJobDTO>> createTranslationJob(@Valid @RequestBody TranslationJobDTO translationJobDTO) {
+        log.debug("REST request to submit TranslationJob : {}", translationJobDTO);
+        if (translationJobDTO.getId() != null) {
+            throw new BadRequestAlertException("A new translationJob cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        return translationJobService
+            .submit(translationJobDTO)
+            .map(result -> {
+                try {
+                    return ResponseEntity
+                        .accepted()
+                        .location(new URI("/api/translation-jobs/" + result.getId()))
+                        .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                        .body(result);
+                } catch (URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+    }
+
+    /**
+     * {@code GET  /translation-jobs/:id} : get the "id" translation job, optionally waiting for it to finish.
+     *
+     * @param id the id of the translationJobDTO to retrieve.
+     * @param wait how many seconds to wait for the job to finish, bounded by the configured maximum.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the translationJobDTO, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/translation-jobs/{id}")
+    public Mono<ResponseEntity<TranslationJobDTO>> getTranslationJob(
+        @PathVariable Long id,
+        @RequestParam(value = "wait", defaultValue = "0") long wait
+    ) {
+        log.debug("REST request to get TranslationJob : {}", id);
+        Duration timeout = Duration.ofSeconds(Math.max(0, wait));
+        Mono<TranslationJobDTO> translationJobDTO = translationJobService.awaitFinished(
+            id,
+            timeout.compareTo(maxWait) > 0 ? maxWait : timeout
+        );
+        return ResponseUtil.wrapOrNotFound(translationJobDTO);
+    }
+}
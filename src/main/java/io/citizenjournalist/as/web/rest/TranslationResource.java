@@ -2,6 +2,7 @@ package io.citizenjournalist.as.web.rest;
 
 import io.citizenjournalist.as.repository.TranslationRepository;
 import io.citizenjournalist.as.service.TranslationService;
+import io.citizenjournalist.as.service.dto.MultiLanguageTranslationDTO;
 import io.citizenjournalist.as.service.dto.TranslationDTO;
 import io.citizenjournalist.as.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
@@ -10,7 +11,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +27,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -50,16 +56,22 @@ public class TranslationResource {
 
     private final TranslationRepository translationRepository;
 
-    public TranslationResource(TranslationService translationService, TranslationRepository translationRepository) {
+    private final Validator validator;
+
+    public TranslationResource(TranslationService translationService, TranslationRepository translationRepository, Validator validator) {
         this.translationService = translationService;
         this.translationRepository = translationRepository;
+        this.validator = validator;
     }
 
     /**
      * {@code POST  /translations} : Create a new translation.
      *
      * @param translationDTO the translationDTO to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new translationDTO, or with status {@code 400 (Bad Request)} if the translation has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new translationDTO,
+     * or with status {@code 202 (Accepted)} and with body the new translationDTO without ID if it is inserted in the background,
+     * or with status {@code 200 (OK)} and with body the last known translationDTO, stale and not created, if the provider is unavailable,
+     * or with status {@code 400 (Bad Request)} if the translation has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/translations")
@@ -72,6 +84,12 @@ public class TranslationResource {
         return translationService
             .save(translationDTO)
             .map(result -> {
+                if (Boolean.TRUE.equals(result.getStale())) {
+                    return ResponseEntity.ok().body(result);
+                }
+                if (Boolean.TRUE.equals(result.getPersist()) && result.getId() == null) {
+                    return ResponseEntity.accepted().body(result);
+                }
                 try {
                     return ResponseEntity
                         .created(new URI("/api/translations/" + result.getId()))
@@ -90,6 +108,89 @@ public class TranslationResource {
             });
     }
 
+    /**
+     * {@code POST  /translations} : Create a new translation, streaming its output text as it is translated.
+     *
+     * @param translationDTO the translationDTO to create.
+     * @return the server-sent events: a {@code segment} event per translated segment of the output text, in order, whose
+     * output texts concatenated make the whole output text, then a {@code translation} event with the new translationDTO.
+     */
+    @PostMapping(value = "/translations", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> createTranslationProgressively(@Valid @RequestBody TranslationDTO translationDTO) {
+        log.debug("REST request to save Translation progressively : {}", translationDTO);
+        if (translationDTO.getId() != null) {
+            throw new BadRequestAlertException("A new translation cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        return translationService
+            .saveProgressively(translationDTO)
+            .map(progress ->
+                progress.isFinished()
+                    ? ServerSentEvent.builder((Object) progress.getTranslation()).event("translation").build()
+                    : ServerSentEvent.builder((Object) progress).event("segment").id(progress.getSegment().toString()).build()
+            );
+    }
+
+    /**
+     * {@code POST  /translations/batch} : Create a stream of new translations.
+     *
+     * @param translationDTOs the translationDTOs to create, as a JSON array or newline delimited JSON.
+     * @return the created translationDTOs as newline delimited JSON, in completion order. A translationDTO which is not
+     * valid, has already an ID, or whose text could not be translated is returned with the reason in its {@code error}
+     * field, and is not created, without failing the others.
+     */
+    @PostMapping(
+        value = "/translations/batch",
+        consumes = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE },
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<TranslationDTO> createTranslations(@RequestBody Flux<TranslationDTO> translationDTOs) {
+        log.debug("REST request to save a stream of Translations");
+        return translationDTOs
+            .map(this::rejectIfInvalid)
+            .publish(checked ->
+                Flux.merge(
+                    checked.filter(translationDTO -> translationDTO.getError() != null),
+                    translationService.saveAll(checked.filter(translationDTO -> translationDTO.getError() == null))
+                )
+            );
+    }
+
+    /**
+     * Validates a translationDTO of a stream one by one, rather than with {@link Valid}, which would fail the whole stream.
+     */
+    private TranslationDTO rejectIfInvalid(TranslationDTO translationDTO) {
+        if (translationDTO.getId() != null) {
+            translationDTO.setError("A new translation cannot already have an ID");
+            return translationDTO;
+        }
+        Set<ConstraintViolation<TranslationDTO>> violations = validator.validate(translationDTO);
+        if (!violations.isEmpty()) {
+            translationDTO.setError(
+                violations
+                    .stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "))
+            );
+        }
+        return translationDTO;
+    }
+
+    /**
+     * {@code POST  /translations/languages} : Translate one input text into several languages at once.
+     *
+     * @param multiLanguageTranslationDTO the input text and the target languages.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the list of translationDTOs, one per target language.
+     * A translationDTO into a language the text could not be translated into carries the reason in its {@code error} field.
+     */
+    @PostMapping("/translations/languages")
+    public Mono<ResponseEntity<List<TranslationDTO>>> createTranslationInLanguages(
+        @Valid @RequestBody MultiLanguageTranslationDTO multiLanguageTranslationDTO
+    ) {
+        log.debug("REST request to save Translations in several languages : {}", multiLanguageTranslationDTO);
+        return translationService.saveInLanguages(multiLanguageTranslationDTO).collectList().map(result -> ResponseEntity.ok().body(result));
+    }
+
     /**
      * {@code PUT  /translations/:id} : Updates an existing translation.
      *
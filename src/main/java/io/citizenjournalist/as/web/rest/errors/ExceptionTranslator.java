@@ -1,5 +1,7 @@
 package io.citizenjournalist.as.web.rest.errors;
 
+import io.citizenjournalist.as.service.translation.TranslationRateLimitExceededException;
+import io.citizenjournalist.as.service.translation.TranslationUnavailableException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collection;
@@ -13,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.stereotype.Component;
@@ -130,6 +133,32 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(ex, problem, request);
     }
 
+    @ExceptionHandler
+    public Mono<ResponseEntity<Problem>> handleTranslationRateLimitExceeded(
+        TranslationRateLimitExceededException ex,
+        ServerWebExchange request
+    ) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.TOO_MANY_REQUESTS)
+            .with(MESSAGE_KEY, ErrorConstants.ERR_TRANSLATION_QUOTA_EXCEEDED)
+            .build();
+        HttpHeaders headers = new HttpHeaders();
+        long retryAfterMillis = ex.getRetryAfter().toMillis();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        return create(ex, problem, request, headers);
+    }
+
+    @ExceptionHandler
+    public Mono<ResponseEntity<Problem>> handleTranslationUnavailable(TranslationUnavailableException ex, ServerWebExchange request) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.SERVICE_UNAVAILABLE)
+            .with(MESSAGE_KEY, ErrorConstants.ERR_TRANSLATION_UNAVAILABLE)
+            .build();
+        return create(ex, problem, request);
+    }
+
     @Override
     public ProblemBuilder prepare(final Throwable throwable, final StatusType status, final URI type) {
         Collection<String> activeProfiles = Arrays.asList(env.getActiveProfiles());
@@ -0,0 +1,23 @@
+package io.citizenjournalist.as.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class GlossaryTermTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(GlossaryTerm.class);
+        GlossaryTerm glossaryTerm1 = new GlossaryTerm();
+        glossaryTerm1.setId(1L);
+        GlossaryTerm glossaryTerm2 = new GlossaryTerm();
+        glossaryTerm2.setId(glossaryTerm1.getId());
+        assertThat(glossaryTerm1).isEqualTo(glossaryTerm2);
+        glossaryTerm2.setId(2L);
+        assertThat(glossaryTerm1).isNotEqualTo(glossaryTerm2);
+        glossaryTerm1.setId(null);
+        assertThat(glossaryTerm1).isNotEqualTo(glossaryTerm2);
+    }
+}
@@ -0,0 +1,23 @@
+package io.citizenjournalist.as.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class TranslationJobTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(TranslationJob.class);
+        TranslationJob translationJob1 = new TranslationJob();
+        translationJob1.setId(1L);
+        TranslationJob translationJob2 = new TranslationJob();
+        translationJob2.setId(translationJob1.getId());
+        assertThat(translationJob1).isEqualTo(translationJob2);
+        translationJob2.setId(2L);
+        assertThat(translationJob1).isNotEqualTo(translationJob2);
+        translationJob1.setId(null);
+        assertThat(translationJob1).isNotEqualTo(translationJob2);
+    }
+}
@@ -0,0 +1,97 @@
+package io.citizenjournalist.as.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.IntegrationTest;
+import io.citizenjournalist.as.domain.Translation;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the custom queries of {@link TranslationRepository}.
+ */
+@IntegrationTest
+class TranslationRepositoryIT {
+
+    @Autowired
+    private TranslationRepository translationRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    @AfterEach
+    public void deleteTranslations() {
+        em.deleteAll(Translation.class).block();
+    }
+
+    @Test
+    void insertAllReturnsTheIdsOfTheRowsInOrder() {
+        Translation first = new Translation()
+            .inputText("Erster Satz.")
+            .language(Language.ENGLISH)
+            .persist(true)
+            .detectedLanguage("de")
+            .outputText("First sentence.")
+            .contentHash("hash-1")
+            .mimeType("text/plain")
+            .glossaryVersion("glossary-1");
+        // nullable columns left null, bound as typed nulls
+        Translation second = new Translation()
+            .inputText("Zweiter Satz.")
+            .language(Language.FRENCH)
+            .persist(true)
+            .outputText("Deuxième phrase.");
+        Translation third = new Translation()
+            .inputText("<p>Dritter Satz.</p>")
+            .language(Language.ENGLISH)
+            .persist(true)
+            .outputText("<p>Third sentence.</p>")
+            .mimeType("text/html");
+
+        List<Long> ids = translationRepository.insertAll(List.of(first, second, third)).collectList().block();
+
+        assertThat(ids).hasSize(3).doesNotContainNull().doesNotHaveDuplicates().isSorted();
+        Translation inserted = translationRepository.findById(ids.get(0)).block();
+        assertThat(inserted.getInputText()).isEqualTo("Erster Satz.");
+        assertThat(inserted.getLanguage()).isEqualTo(Language.ENGLISH);
+        assertThat(inserted.getPersist()).isTrue();
+        assertThat(inserted.getDetectedLanguage()).isEqualTo("de");
+        assertThat(inserted.getOutputText()).isEqualTo("First sentence.");
+        assertThat(inserted.getContentHash()).isEqualTo("hash-1");
+        assertThat(inserted.getMimeType()).isEqualTo("text/plain");
+        assertThat(inserted.getGlossaryVersion()).isEqualTo("glossary-1");
+        inserted = translationRepository.findById(ids.get(1)).block();
+        assertThat(inserted.getInputText()).isEqualTo("Zweiter Satz.");
+        assertThat(inserted.getLanguage()).isEqualTo(Language.FRENCH);
+        assertThat(inserted.getDetectedLanguage()).isNull();
+        assertThat(inserted.getContentHash()).isNull();
+        assertThat(inserted.getMimeType()).isNull();
+        assertThat(inserted.getGlossaryVersion()).isNull();
+        inserted = translationRepository.findById(ids.get(2)).block();
+        assertThat(inserted.getOutputText()).isEqualTo("<p>Third sentence.</p>");
+        assertThat(inserted.getMimeType()).isEqualTo("text/html");
+    }
+
+    @Test
+    void insertAllFindsTheInsertedRowsByTheirLookupKey() {
+        Translation translation = new Translation()
+            .inputText("Erster Satz.")
+            .language(Language.ENGLISH)
+            .persist(true)
+            .outputText("First sentence.")
+            .contentHash("hash-1")
+            .mimeType("text/plain");
+
+        Long id = translationRepository.insertAll(List.of(translation)).blockLast();
+
+        Translation found = translationRepository
+            .findLatestByContentHashAndLanguageAndMimeTypeAndGlossaryVersion("hash-1", Language.ENGLISH, "text/plain", null)
+            .block();
+        assertThat(found.getId()).isEqualTo(id);
+    }
+}
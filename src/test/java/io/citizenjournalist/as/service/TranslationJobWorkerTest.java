@@ -0,0 +1,102 @@
+package io.citizenjournalist.as.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.TranslationJob;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.citizenjournalist.as.domain.enumeration.TranslationJobStatus;
+import io.citizenjournalist.as.repository.TranslationJobRepository;
+import io.citizenjournalist.as.service.dto.TranslationDTO;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class TranslationJobWorkerTest {
+
+    private static final long JOB_ID = 1L;
+
+    private ApplicationProperties applicationProperties;
+
+    private TranslationJobRepository translationJobRepository;
+
+    private TranslationService translationService;
+
+    private TranslationJobWorker translationJobWorker;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Translation.Job job = applicationProperties.getTranslation().getJob();
+        job.setPollInterval(Duration.ofMillis(10));
+        job.setLease(Duration.ofMillis(60));
+        translationJobRepository = mock(TranslationJobRepository.class);
+        translationService = mock(TranslationService.class);
+        when(translationJobRepository.findClaimableIds(any(), anyInt())).thenReturn(Flux.just(JOB_ID), Flux.empty());
+        when(translationJobRepository.claim(eq(JOB_ID), anyString(), any(), any())).thenReturn(Mono.just(1));
+        when(translationJobRepository.findById(JOB_ID))
+            .thenReturn(
+                Mono.just(
+                    new TranslationJob()
+                        .id(JOB_ID)
+                        .inputText("Ein Satz.")
+                        .language(Language.ENGLISH)
+                        .status(TranslationJobStatus.RUNNING)
+                        .attempts(1)
+                )
+            );
+        when(translationJobRepository.complete(eq(JOB_ID), anyString(), any(), any())).thenReturn(Mono.just(1));
+        translationJobWorker = new TranslationJobWorker(translationJobRepository, translationService, applicationProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        translationJobWorker.stop();
+    }
+
+    @Test
+    void renewsTheLockWhileTheJobRuns() {
+        when(translationJobRepository.renew(eq(JOB_ID), anyString(), any(), any())).thenReturn(Mono.just(1));
+        when(translationService.save(any())).thenReturn(Mono.just(translation()).delayElement(Duration.ofMillis(200)));
+
+        translationJobWorker.start();
+
+        verify(translationJobRepository, timeout(1000)).complete(eq(JOB_ID), anyString(), eq(2L), any());
+        verify(translationJobRepository, atLeast(3)).renew(eq(JOB_ID), anyString(), any(), any());
+    }
+
+    @Test
+    void cancelsTheJobOnceClaimedByAnotherInstance() throws InterruptedException {
+        when(translationJobRepository.renew(eq(JOB_ID), anyString(), any(), any())).thenReturn(Mono.just(0));
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(translationService.save(any())).thenReturn(Mono.<TranslationDTO>never().doOnCancel(cancelled::countDown));
+
+        translationJobWorker.start();
+
+        assertThat(cancelled.await(1, TimeUnit.SECONDS)).isTrue();
+        verify(translationJobRepository, never()).complete(any(), any(), any(), any());
+        verify(translationJobRepository, never()).release(any(), any(), any(), any(), any());
+    }
+
+    private static TranslationDTO translation() {
+        TranslationDTO translationDTO = new TranslationDTO();
+        translationDTO.setId(2L);
+        translationDTO.setPersist(true);
+        return translationDTO;
+    }
+}
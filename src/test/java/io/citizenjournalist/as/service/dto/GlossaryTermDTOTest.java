@@ -0,0 +1,24 @@
+package io.citizenjournalist.as.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class GlossaryTermDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(GlossaryTermDTO.class);
+        GlossaryTermDTO glossaryTermDTO1 = new GlossaryTermDTO();
+        glossaryTermDTO1.setId(1L);
+        GlossaryTermDTO glossaryTermDTO2 = new GlossaryTermDTO();
+        assertThat(glossaryTermDTO1).isNotEqualTo(glossaryTermDTO2);
+        glossaryTermDTO2.setId(glossaryTermDTO1.getId());
+        assertThat(glossaryTermDTO1).isEqualTo(glossaryTermDTO2);
+        glossaryTermDTO2.setId(2L);
+        assertThat(glossaryTermDTO1).isNotEqualTo(glossaryTermDTO2);
+        glossaryTermDTO1.setId(null);
+        assertThat(glossaryTermDTO1).isNotEqualTo(glossaryTermDTO2);
+    }
+}
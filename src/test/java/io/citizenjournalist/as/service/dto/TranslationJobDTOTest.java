@@ -0,0 +1,24 @@
+package io.citizenjournalist.as.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class TranslationJobDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(TranslationJobDTO.class);
+        TranslationJobDTO translationJobDTO1 = new TranslationJobDTO();
+        translationJobDTO1.setId(1L);
+        TranslationJobDTO translationJobDTO2 = new TranslationJobDTO();
+        assertThat(translationJobDTO1).isNotEqualTo(translationJobDTO2);
+        translationJobDTO2.setId(translationJobDTO1.getId());
+        assertThat(translationJobDTO1).isEqualTo(translationJobDTO2);
+        translationJobDTO2.setId(2L);
+        assertThat(translationJobDTO1).isNotEqualTo(translationJobDTO2);
+        translationJobDTO1.setId(null);
+        assertThat(translationJobDTO1).isNotEqualTo(translationJobDTO2);
+    }
+}
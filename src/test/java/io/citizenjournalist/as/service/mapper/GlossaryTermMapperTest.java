@@ -0,0 +1,16 @@
+package io.citizenjournalist.as.service.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GlossaryTermMapperTest {
+
+    private GlossaryTermMapper glossaryTermMapper;
+
+    @BeforeEach
+    public void setUp() {
+        glossaryTermMapper = new GlossaryTermMapperImpl();
+    }
+}
@@ -0,0 +1,16 @@
+package io.citizenjournalist.as.service.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TranslationJobMapperTest {
+
+    private TranslationJobMapper translationJobMapper;
+
+    @BeforeEach
+    public void setUp() {
+        translationJobMapper = new TranslationJobMapperImpl();
+    }
+}
@@ -0,0 +1,178 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.GlossaryTerm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import reactor.core.publisher.Mono;
+
+class ChunkingTranslatorTest {
+
+    private static final String BYLINE = "Von unserer Redaktion.";
+
+    private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Glossary glossary;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        glossary = new Glossary(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void sendsUnseenSentencesInOneCall() {
+        ChunkingTranslator chunkingTranslator = createChunkingTranslator();
+
+        TranslatedText result = chunkingTranslator
+            .translate("Erster Satz. " + BYLINE + "\n\nZweiter Satz.", "en", "text/plain")
+            .block(Duration.ofSeconds(5));
+
+        assertThat(result.getText()).isEqualTo("ERSTER SATZ. " + BYLINE.toUpperCase() + "\n\nZWEITER SATZ.");
+        assertThat(calls).containsExactly(List.of("Erster Satz.", BYLINE, "Zweiter Satz."));
+    }
+
+    @Test
+    void translatesAtMostTheConfiguredNumberOfSentencesAtOnce() {
+        applicationProperties.getTranslation().getChunk().setConcurrency(1);
+        ChunkingTranslator chunkingTranslator = createChunkingTranslator();
+
+        TranslatedText result = chunkingTranslator
+            .translate("Erster Satz. " + BYLINE + "\n\nZweiter Satz.", "en", "text/plain")
+            .block(Duration.ofSeconds(5));
+
+        assertThat(result.getText()).isEqualTo("ERSTER SATZ. " + BYLINE.toUpperCase() + "\n\nZWEITER SATZ.");
+        assertThat(calls).containsExactly(List.of("Erster Satz."), List.of(BYLINE), List.of("Zweiter Satz."));
+    }
+
+    @Test
+    void translatesSentencesSeenInOtherTextsFromTheCache() {
+        ChunkingTranslator chunkingTranslator = createChunkingTranslator();
+        chunkingTranslator.translate("Erster Satz. " + BYLINE, "en", "text/plain").block(Duration.ofSeconds(5));
+        calls.clear();
+
+        TranslatedText result = chunkingTranslator.translate("Anderer Satz. " + BYLINE, "en", "text/plain").block(Duration.ofSeconds(5));
+
+        assertThat(result.getText()).isEqualTo("ANDERER SATZ. " + BYLINE.toUpperCase());
+        assertThat(calls).containsExactly(List.of("Anderer Satz."));
+        assertThat(meterRegistry.get("translation.segment.characters.reused").counter().count()).isEqualTo(BYLINE.length());
+    }
+
+    @Test
+    void translatesRepeatedSentencesOnce() {
+        ChunkingTranslator chunkingTranslator = createChunkingTranslator();
+
+        TranslatedText result = chunkingTranslator.translate(BYLINE + " Satz. " + BYLINE, "en", "text/plain").block(Duration.ofSeconds(5));
+
+        assertThat(result.getText()).isEqualTo(BYLINE.toUpperCase() + " SATZ. " + BYLINE.toUpperCase());
+        assertThat(calls).containsExactly(List.of(BYLINE, "Satz."));
+    }
+
+    @Test
+    void translatesOnlyTheTextOfHtmlDocuments() {
+        ChunkingTranslator chunkingTranslator = createChunkingTranslator();
+        String html = "<article data-id=\"1\">\n  <h1>Titel</h1>\n  <p>Erster Satz. <a href=\"/x\">Titel</a></p>\n</article>";
+
+        TranslatedText result = chunkingTranslator.translate(html, "en", "text/html").block(Duration.ofSeconds(5));
+
+        assertThat(result.getText())
+            .isEqualTo("<article data-id=\"1\">\n  <h1>TITEL</h1>\n  <p>ERSTER SATZ. <a href=\"/x\">TITEL</a></p>\n</article>");
+        assertThat(calls).containsExactly(List.of("Titel", "Erster Satz.", "<a href=\"/x\">Titel</a>"));
+    }
+
+    @Test
+    void keepsInlineElementsWithinTheirSentence() {
+        ChunkingTranslator chunkingTranslator = createChunkingTranslator();
+        String html = "<p>Lesen Sie <a href=\"/x\">den Bericht. Und mehr</a>. Zweiter Satz.</p>";
+
+        TranslatedText result = chunkingTranslator.translate(html, "en", "text/html").block(Duration.ofSeconds(5));
+
+        assertThat(result.getText()).isEqualTo("<p>LESEN SIE <a href=\"/x\">DEN BERICHT. UND MEHR</a>. ZWEITER SATZ.</p>");
+        assertThat(calls).containsExactly(List.of("Lesen Sie <a href=\"/x\">den Bericht. Und mehr</a>.", "Zweiter Satz."));
+    }
+
+    @Test
+    void emitsTranslatedSegmentsWithTheirSeparators() {
+        ChunkingTranslator chunkingTranslator = createChunkingTranslator();
+
+        List<TranslatedText> segments = chunkingTranslator
+            .translateProgressively("Erster Satz. " + BYLINE + "\n\nZweiter Satz.", "en", "text/plain")
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(segments)
+            .extracting(TranslatedText::getText)
+            .containsExactly("ERSTER SATZ. ", BYLINE.toUpperCase() + "\n\n", "ZWEITER SATZ.");
+    }
+
+    @Test
+    void keepsGlossaryTermsOutOfTheProviderCalls() {
+        glossary.load(List.of(new GlossaryTerm().term("Satz")));
+        ChunkingTranslator chunkingTranslator = createChunkingTranslator();
+
+        TranslatedText result = chunkingTranslator.translate("Erster Satz.", "en", "text/plain").block(Duration.ofSeconds(5));
+
+        assertThat(calls).containsExactly(List.of("Erster ⟦0⟧."));
+        assertThat(result.getText()).isEqualTo("ERSTER Satz.");
+    }
+
+    @Test
+    void keepsShortTextsWholeWithoutTheSegmentCache() {
+        applicationProperties.getTranslation().getSegmentCache().setEnabled(false);
+        ChunkingTranslator chunkingTranslator = createChunkingTranslator();
+
+        chunkingTranslator.translate("Erster Satz. " + BYLINE, "en", "text/plain").block(Duration.ofSeconds(5));
+
+        assertThat(calls).containsExactly(List.of("Erster Satz. " + BYLINE));
+    }
+
+    private ChunkingTranslator createChunkingTranslator() {
+        TranslationProvider translationProvider = (contents, targetLanguage, mimeType) -> {
+            calls.add(contents);
+            return Mono.just(contents.stream().map(content -> new TranslatedText(upperCase(content), "de")).collect(Collectors.toList()));
+        };
+        TranslationRateLimiter rateLimiter = new TranslationRateLimiter(applicationProperties, meterRegistry);
+        TranslationHedger translationHedger = new TranslationHedger(applicationProperties, meterRegistry);
+        TranslationBatcher translationBatcher = new TranslationBatcher(
+            translationProvider,
+            rateLimiter,
+            translationHedger,
+            new TranslationLanes(applicationProperties, meterRegistry),
+            new ReactiveResilience4JCircuitBreakerFactory().create("translation"),
+            applicationProperties,
+            meterRegistry
+        );
+        return new ChunkingTranslator(
+            translationBatcher,
+            new SegmentCache(applicationProperties, meterRegistry),
+            glossary,
+            applicationProperties
+        );
+    }
+
+    /**
+     * Upper-cases the text outside the tags, as a provider translating HTML would leave the markup alone.
+     */
+    private static String upperCase(String content) {
+        StringBuilder text = new StringBuilder();
+        boolean tag = false;
+        for (char c : content.toCharArray()) {
+            tag = c == '<' || (tag && c != '>');
+            text.append(tag || c == '>' ? c : Character.toUpperCase(c));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package io.citizenjournalist.as.service.translation;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.rpc.ApiCallContext;
+import com.google.api.gax.rpc.UnaryCallable;
+import com.google.cloud.translate.v3beta1.GetSupportedLanguagesRequest;
+import com.google.cloud.translate.v3beta1.SupportedLanguages;
+import com.google.cloud.translate.v3beta1.TranslateTextRequest;
+import com.google.cloud.translate.v3beta1.TranslateTextResponse;
+import com.google.cloud.translate.v3beta1.Translation;
+import com.google.cloud.translate.v3beta1.TranslationServiceClient;
+import com.google.cloud.translate.v3beta1.stub.TranslationServiceStub;
+import com.google.longrunning.stub.OperationsStub;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory {@link TranslationServiceStub} which "translates" every content to upper case and records the requests it receives.
+ */
+public class FakeTranslationServiceStub extends TranslationServiceStub {
+
+    private final List<TranslateTextRequest> requests = new CopyOnWriteArrayList<>();
+
+    private final List<GetSupportedLanguagesRequest> supportedLanguagesRequests = new CopyOnWriteArrayList<>();
+
+    public static TranslationServiceClient createClient(FakeTranslationServiceStub stub) {
+        return TranslationServiceClient.create(stub);
+    }
+
+    public List<TranslateTextRequest> getRequests() {
+        return requests;
+    }
+
+    public List<GetSupportedLanguagesRequest> getSupportedLanguagesRequests() {
+        return supportedLanguagesRequests;
+    }
+
+    protected ApiFuture<TranslateTextResponse> translate(TranslateTextRequest request) {
+        TranslateTextResponse.Builder response = TranslateTextResponse.newBuilder();
+        request
+            .getContentsList()
+            .forEach(content ->
+                response.addTranslations(Translation.newBuilder().setTranslatedText(content.toUpperCase()).setDetectedLanguageCode("en"))
+            );
+        return ApiFutures.immediateFuture(response.build());
+    }
+
+    @Override
+    public UnaryCallable<TranslateTextRequest, TranslateTextResponse> translateTextCallable() {
+        return new UnaryCallable<>() {
+            @Override
+            public ApiFuture<TranslateTextResponse> futureCall(TranslateTextRequest request, ApiCallContext context) {
+                requests.add(request);
+                return translate(request);
+            }
+        };
+    }
+
+    @Override
+    public UnaryCallable<GetSupportedLanguagesRequest, SupportedLanguages> getSupportedLanguagesCallable() {
+        return new UnaryCallable<>() {
+            @Override
+            public ApiFuture<SupportedLanguages> futureCall(GetSupportedLanguagesRequest request, ApiCallContext context) {
+                supportedLanguagesRequests.add(request);
+                return ApiFutures.immediateFuture(SupportedLanguages.getDefaultInstance());
+            }
+        };
+    }
+
+    @Override
+    public OperationsStub getOperationsStub() {
+        return null;
+    }
+
+    @Override
+    public void close() {}
+
+    @Override
+    public void shutdown() {}
+
+    @Override
+    public boolean isShutdown() {
+        return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return false;
+    }
+
+    @Override
+    public void shutdownNow() {}
+
+    @Override
+    public boolean awaitTermination(long duration, TimeUnit unit) {
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.GlossaryTerm;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GlossaryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Glossary glossary;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        glossary = new Glossary(new ApplicationProperties(), meterRegistry);
+        glossary.load(
+            List.of(
+                new GlossaryTerm().term("Citizen Journalist"),
+                new GlossaryTerm().term("Citizen"),
+                new GlossaryTerm().term("Journalist Weekly"),
+                new GlossaryTerm().term("Bürgerfunk").replacement("Citizen Radio").language(Language.ENGLISH)
+            )
+        );
+    }
+
+    @Test
+    void masksTheLeftmostLongestTerms() {
+        Glossary.Masked masked = glossary.mask("Citizen Journalist Weekly und Citizen berichten.", "en");
+
+        assertThat(masked.getText()).isEqualTo("⟦0⟧ Weekly und ⟦1⟧ berichten.");
+        assertThat(meterRegistry.get("translation.glossary.masked").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void onlyMasksWholeWords() {
+        Glossary.Masked masked = glossary.mask("Citizens of the Citizen-Journalist network", "en");
+
+        assertThat(masked.getText()).isEqualTo("Citizens of the ⟦0⟧-Journalist network");
+    }
+
+    @Test
+    void restoresTermsAndReplacements() {
+        Glossary.Masked masked = glossary.mask("Der Bürgerfunk und Citizen Journalist.", "en");
+
+        TranslatedText translation = masked.unmask(new TranslatedText("The ⟦0⟧ and ⟦1⟧.", "de"));
+
+        assertThat(masked.getText()).isEqualTo("Der ⟦0⟧ und ⟦1⟧.");
+        assertThat(translation).isEqualTo(new TranslatedText("The Citizen Radio and Citizen Journalist.", "de"));
+    }
+
+    @Test
+    void appliesLanguageSpecificTermsToTheirLanguageOnly() {
+        assertThat(glossary.mask("Der Bürgerfunk sendet.", "fr").getText()).isEqualTo("Der Bürgerfunk sendet.");
+    }
+
+    @Test
+    void countsTermsLostByTheProvider() {
+        Glossary.Masked masked = glossary.mask("Citizen Journalist und Citizen.", "en");
+
+        TranslatedText translation = masked.unmask(new TranslatedText("⟦1⟧ and ⟦7⟧ and ⟦.", "de"));
+
+        assertThat(translation.getText()).isEqualTo("Citizen and ⟦7⟧ and ⟦.");
+        assertThat(meterRegistry.get("translation.glossary.lost").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void versionsTheTermsByTheirContent() {
+        String version = glossary.version();
+
+        glossary.load(
+            List.of(
+                new GlossaryTerm().term("Bürgerfunk").replacement("Citizen Radio").language(Language.ENGLISH),
+                new GlossaryTerm().term("Journalist Weekly"),
+                new GlossaryTerm().term("Citizen"),
+                new GlossaryTerm().term("Citizen Journalist")
+            )
+        );
+
+        assertThat(glossary.version()).isNotNull().isEqualTo(version);
+
+        glossary.load(List.of(new GlossaryTerm().term("Bürgerfunk").replacement("Community Radio").language(Language.ENGLISH)));
+
+        assertThat(glossary.version()).isNotEqualTo(version);
+
+        glossary.load(List.of());
+
+        assertThat(glossary.version()).isNull();
+    }
+}
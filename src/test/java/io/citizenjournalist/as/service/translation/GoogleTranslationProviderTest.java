@@ -0,0 +1,139 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.ApiExceptionFactory;
+import com.google.cloud.translate.v3beta1.LocationName;
+import com.google.cloud.translate.v3beta1.TranslateTextRequest;
+import com.google.cloud.translate.v3beta1.TranslateTextResponse;
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class GoogleTranslationProviderTest {
+
+    @Test
+    void translatesAllContentsInOneRequest() {
+        FakeTranslationServiceStub stub = new FakeTranslationServiceStub();
+
+        List<TranslatedText> translations = createProvider(stub)
+            .translate(List.of("one", "two"), "de", "text/plain")
+            .block(Duration.ofSeconds(5));
+
+        assertThat(translations).containsExactly(new TranslatedText("ONE", "en"), new TranslatedText("TWO", "en"));
+        assertThat(stub.getRequests()).hasSize(1);
+        TranslateTextRequest request = stub.getRequests().get(0);
+        assertThat(request.getParent()).isEqualTo("projects/project/locations/global");
+        assertThat(request.getTargetLanguageCode()).isEqualTo("de");
+        assertThat(request.getContentsList()).containsExactly("one", "two");
+    }
+
+    @Test
+    void cancelsTheCallWhenUnsubscribed() {
+        SettableApiFuture<TranslateTextResponse> response = SettableApiFuture.create();
+        FakeTranslationServiceStub stub = new FakeTranslationServiceStub() {
+            @Override
+            protected ApiFuture<TranslateTextResponse> translate(TranslateTextRequest request) {
+                return response;
+            }
+        };
+
+        Disposable call = createProvider(stub).translate(List.of("one"), "de", "text/plain").subscribe();
+        call.dispose();
+
+        assertThat(response.isCancelled()).isTrue();
+    }
+
+    @Test
+    void reportsApiErrorsAsProviderErrors() {
+        FakeTranslationServiceStub stub = new FakeTranslationServiceStub() {
+            @Override
+            protected ApiFuture<TranslateTextResponse> translate(TranslateTextRequest request) {
+                return ApiFutures.immediateFailedFuture(
+                    ApiExceptionFactory.createException(null, GrpcStatusCode.of(Status.Code.UNAVAILABLE), true)
+                );
+            }
+        };
+
+        assertThatThrownBy(() -> createProvider(stub).translate(List.of("one"), "de", "text/plain").block(Duration.ofSeconds(5)))
+            .isInstanceOfSatisfying(TranslationProviderException.class, e -> assertThat(e.isRetryable()).isTrue());
+    }
+
+    @Test
+    void warmsUpEveryChannel() {
+        FakeTranslationServiceStub stub = new FakeTranslationServiceStub();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getTranslation().getGoogle().setChannelPoolSize(3);
+
+        new GoogleTranslationProvider(List.of(location("global", stub)), applicationProperties, new SimpleMeterRegistry()).warmUp();
+
+        assertThat(stub.getSupportedLanguagesRequests()).hasSize(3);
+        assertThat(stub.getRequests()).isEmpty();
+    }
+
+    @Test
+    void failsOverToTheNextLocation() {
+        FakeTranslationServiceStub failing = new FakeTranslationServiceStub() {
+            @Override
+            protected ApiFuture<TranslateTextResponse> translate(TranslateTextRequest request) {
+                return ApiFutures.immediateFailedFuture(
+                    ApiExceptionFactory.createException(null, GrpcStatusCode.of(Status.Code.UNAVAILABLE), true)
+                );
+            }
+        };
+        FakeTranslationServiceStub stub = new FakeTranslationServiceStub();
+        GoogleTranslationProvider provider = new GoogleTranslationProvider(
+            List.of(location("us-central1", failing), location("global", stub)),
+            new ApplicationProperties(),
+            new SimpleMeterRegistry()
+        );
+
+        List<TranslatedText> translations = provider.translate(List.of("one"), "de", "text/plain").block(Duration.ofSeconds(5));
+        provider.translate(List.of("two"), "de", "text/plain").block(Duration.ofSeconds(5));
+
+        assertThat(translations).containsExactly(new TranslatedText("ONE", "en"));
+        assertThat(failing.getRequests()).hasSize(1);
+        assertThat(stub.getRequests()).extracting(TranslateTextRequest::getParent).containsOnly("projects/project/locations/global");
+        assertThat(stub.getRequests()).hasSize(2);
+    }
+
+    @Test
+    void avoidsLocationsWhoseCallsWereCancelled() {
+        FakeTranslationServiceStub hanging = new FakeTranslationServiceStub() {
+            @Override
+            protected ApiFuture<TranslateTextResponse> translate(TranslateTextRequest request) {
+                return SettableApiFuture.create();
+            }
+        };
+        FakeTranslationServiceStub stub = new FakeTranslationServiceStub();
+        GoogleTranslationProvider provider = new GoogleTranslationProvider(
+            List.of(location("us-central1", hanging), location("global", stub)),
+            new ApplicationProperties(),
+            new SimpleMeterRegistry()
+        );
+        provider.translate(List.of("one"), "de", "text/plain").timeout(Duration.ofMillis(50)).onErrorResume(e -> Mono.empty()).block();
+
+        provider.translate(List.of("two"), "de", "text/plain").block(Duration.ofSeconds(5));
+
+        assertThat(hanging.getRequests()).hasSize(1);
+        assertThat(stub.getRequests()).hasSize(1);
+    }
+
+    private GoogleTranslationProvider createProvider(FakeTranslationServiceStub stub) {
+        return new GoogleTranslationProvider(List.of(location("global", stub)), new ApplicationProperties(), new SimpleMeterRegistry());
+    }
+
+    private static GoogleTranslationLocation location(String name, FakeTranslationServiceStub stub) {
+        return new GoogleTranslationLocation(LocationName.of("project", name), FakeTranslationServiceStub.createClient(stub));
+    }
+}
@@ -0,0 +1,68 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HtmlTokenizerTest {
+
+    @Test
+    void returnsTheTextRunsBetweenBlockTags() {
+        String html = "<div class=\"a>b\">\n  <p>Hello <b>world</b>!</p>\n</div>";
+
+        List<TextSegment> runs = HtmlTokenizer.textRuns(html);
+
+        assertThat(runs).extracting(TextSegment::getText).containsExactly("", "Hello <b>world</b>!");
+        assertThat(join(runs)).isEqualTo(html);
+    }
+
+    @Test
+    void keepsInlineElementsWithinTheirRun() {
+        String html = "<p>Read <a href=\"/x\">the <em>full</em> story</a>.</p><ul><li>One</li><li><span>Two</span></li></ul>";
+
+        List<TextSegment> runs = HtmlTokenizer.textRuns(html);
+
+        assertThat(runs)
+            .extracting(TextSegment::getText)
+            .containsExactly("", "Read <a href=\"/x\">the <em>full</em> story</a>.", "One", "<span>Two</span>");
+        assertThat(join(runs)).isEqualTo(html);
+    }
+
+    @Test
+    void cutsRunsOnlyOutsideInlineElements() {
+        String run = "A <a href=\"/x\">b</a> c";
+
+        BitSet topLevel = HtmlTokenizer.topLevel(run);
+
+        assertThat(topLevel.get(0)).isTrue();
+        assertThat(topLevel.get(2)).isTrue();
+        assertThat(topLevel.get(3)).isFalse();
+        assertThat(topLevel.get(run.indexOf('b'))).isFalse();
+        assertThat(topLevel.get(run.indexOf(" c"))).isTrue();
+        assertThat(topLevel.get(run.length())).isTrue();
+    }
+
+    @Test
+    void skipsCommentsScriptsAndStyles() {
+        String html = "<!-- <p>not text</p> --><script>if (a < b) { x = '<p>'; }</script><STYLE>p > b {}</STYLE><p>Text &amp; more</p>";
+
+        List<TextSegment> runs = HtmlTokenizer.textRuns(html);
+
+        assertThat(runs).extracting(TextSegment::getText).containsExactly("", "Text &amp; more");
+        assertThat(join(runs)).isEqualTo(html);
+    }
+
+    @Test
+    void keepsDocumentsWithoutTextUnchanged() {
+        assertThat(join(HtmlTokenizer.textRuns("<br/>\n<img src=\"a.png\">"))).isEqualTo("<br/>\n<img src=\"a.png\">");
+        assertThat(HtmlTokenizer.textRuns("")).isEmpty();
+    }
+
+    private static String join(List<TextSegment> segments) {
+        StringBuilder text = new StringBuilder();
+        segments.forEach(segment -> text.append(segment.getText()).append(segment.getSeparator()));
+        return text.toString();
+    }
+}
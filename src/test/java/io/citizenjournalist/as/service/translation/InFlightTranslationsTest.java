@@ -0,0 +1,91 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class InFlightTranslationsTest {
+
+    private final InFlightTranslations inFlightTranslations = new InFlightTranslations(new SimpleMeterRegistry());
+
+    @Test
+    void identicalTranslationsShareOneCall() {
+        TranslationKey key = TranslationKey.of("Hello", Language.GERMAN, "text/plain");
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<TranslatedText> upstream = Sinks.one();
+
+        Mono<TranslatedText> call = upstream.asMono().doOnSubscribe(s -> calls.incrementAndGet());
+
+        Mono<TranslatedText> first = inFlightTranslations.join(key, () -> call).cache();
+        Mono<TranslatedText> second = inFlightTranslations.join(key, () -> call).cache();
+        first.subscribe();
+        second.subscribe();
+        upstream.tryEmitValue(new TranslatedText("Hallo", "en"));
+
+        assertThat(first.block(Duration.ofSeconds(1))).isEqualTo(new TranslatedText("Hallo", "en"));
+        assertThat(second.block(Duration.ofSeconds(1))).isEqualTo(new TranslatedText("Hallo", "en"));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void dropsTheEntryOnceTheCallFails() {
+        TranslationKey key = TranslationKey.of("Hello", Language.GERMAN, "text/plain");
+        AtomicInteger calls = new AtomicInteger();
+
+        Mono<TranslatedText> failing = inFlightTranslations.join(
+            key,
+            () -> Mono.<TranslatedText>error(new IllegalStateException()).doOnSubscribe(s -> calls.incrementAndGet())
+        );
+        failing.onErrorResume(e -> Mono.empty()).block(Duration.ofSeconds(1));
+        TranslatedText retried = inFlightTranslations
+            .join(key, () -> Mono.just(new TranslatedText("Hallo", "en")).doOnSubscribe(s -> calls.incrementAndGet()))
+            .block(Duration.ofSeconds(1));
+
+        assertThat(retried).isEqualTo(new TranslatedText("Hallo", "en"));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void doesNotMakeAnInteractiveTranslationWaitForABackgroundCall() {
+        TranslationKey key = TranslationKey.of("Hello", Language.GERMAN, "text/plain");
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<TranslatedText> background = Sinks.one();
+
+        inFlightTranslations
+            .join(key, () -> background.asMono().doOnSubscribe(s -> calls.incrementAndGet()))
+            .contextWrite(TranslationPriority.BACKGROUND.asContext())
+            .subscribe();
+        TranslatedText interactive = inFlightTranslations
+            .join(key, () -> Mono.just(new TranslatedText("Hallo", "en")).doOnSubscribe(s -> calls.incrementAndGet()))
+            .block(Duration.ofSeconds(1));
+
+        assertThat(interactive).isEqualTo(new TranslatedText("Hallo", "en"));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void attachesABackgroundTranslationToAnInteractiveCall() {
+        TranslationKey key = TranslationKey.of("Hello", Language.GERMAN, "text/plain");
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<TranslatedText> upstream = Sinks.one();
+        Mono<TranslatedText> call = upstream.asMono().doOnSubscribe(s -> calls.incrementAndGet());
+
+        Mono<TranslatedText> interactive = inFlightTranslations.join(key, () -> call).cache();
+        interactive.subscribe();
+        Mono<TranslatedText> background = inFlightTranslations
+            .join(key, () -> call)
+            .contextWrite(TranslationPriority.BACKGROUND.asContext())
+            .cache();
+        background.subscribe();
+        upstream.tryEmitValue(new TranslatedText("Hallo", "en"));
+
+        assertThat(background.block(Duration.ofSeconds(1))).isEqualTo(new TranslatedText("Hallo", "en"));
+        assertThat(calls).hasValue(1);
+    }
+}
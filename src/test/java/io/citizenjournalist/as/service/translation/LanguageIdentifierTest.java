@@ -0,0 +1,88 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LanguageIdentifierTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LanguageIdentifier languageIdentifier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        languageIdentifier = new LanguageIdentifier(new ApplicationProperties(), meterRegistry);
+    }
+
+    @Test
+    void identifiesLanguages() {
+        assertThat(languageIdentifier.identify("Die Polizei hat am Montag zwei Verdächtige festgenommen.").getLanguage())
+            .isEqualTo(Language.GERMAN);
+        assertThat(languageIdentifier.identify("The police arrested two suspects on Monday morning.").getLanguage())
+            .isEqualTo(Language.ENGLISH);
+        assertThat(languageIdentifier.identify("La police a arrêté deux suspects lundi matin.").getLanguage()).isEqualTo(Language.FRENCH);
+        assertThat(languageIdentifier.identify("La policía detuvo a dos sospechosos el lunes por la mañana.").getLanguage())
+            .isEqualTo(Language.SPANISH);
+        assertThat(languageIdentifier.identify("Поліція затримала двох підозрюваних у понеділок вранці.").getLanguage())
+            .isEqualTo(Language.UKRAINIAN);
+        assertThat(languageIdentifier.identify("警察は月曜日の朝、二人の容疑者を逮捕しました。").getLanguage()).isEqualTo(Language.JAPANESE);
+    }
+
+    @Test
+    void skipsTextsAlreadyInTheTargetLanguage() {
+        String text = "Die Polizei hat am Montag zwei Verdächtige festgenommen, die in der Innenstadt mehrere Geschäfte überfallen haben.";
+
+        assertThat(languageIdentifier.isAlreadyIn(text, Language.GERMAN)).isTrue();
+        assertThat(languageIdentifier.isAlreadyIn(text, Language.ENGLISH)).isFalse();
+
+        assertThat(meterRegistry.get("translation.language.checked").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("translation.language.skipped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("translation.language.confidence").summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotSkipShortTexts() {
+        assertThat(languageIdentifier.isAlreadyIn("Guten Tag", Language.GERMAN)).isFalse();
+    }
+
+    @Test
+    void doesNotSkipTextsInUnsupportedLanguages() {
+        String dutch =
+            "Na het noodweer moesten talrijke wegen in het zuiden van het land worden afgesloten omdat omgevallen bomen de rijstroken " +
+            "blokkeerden.";
+        String swedish =
+            "Regeringen planerar att kraftigt utöka stödet till förnybar energi nästa år, meddelade näringsdepartementet på onsdagen.";
+        String galician =
+            "Despois do temporal, moitas estradas do sur do país tiveron que ser pechadas porque as árbores caídas bloqueaban os carrís.";
+        String luxembourgish =
+            "D'Regierung plangt, d'Ënnerstëtzung fir erneierbar Energien d'nächst Joer däitlech auszebauen, huet de Wirtschaftsministère " +
+            "e Mëttwoch matgedeelt.";
+        String cantonese = "政府計劃喺明年大幅擴大對可再生能源嘅支援，經濟部星期三話。";
+
+        assertThat(languageIdentifier.identify(dutch).getLanguage()).isNull();
+        assertThat(languageIdentifier.identify(dutch).getProfile()).isEqualTo("nl");
+        assertThat(languageIdentifier.isAlreadyIn(dutch, Language.GERMAN)).isFalse();
+        assertThat(languageIdentifier.isAlreadyIn(swedish, Language.GERMAN)).isFalse();
+        assertThat(languageIdentifier.isAlreadyIn(galician, Language.PORTUGUESE)).isFalse();
+        assertThat(languageIdentifier.isAlreadyIn(galician, Language.SPANISH)).isFalse();
+        assertThat(languageIdentifier.isAlreadyIn(luxembourgish, Language.GERMAN)).isFalse();
+        assertThat(languageIdentifier.isAlreadyIn(cantonese, Language.CHINESE)).isFalse();
+        assertThat(meterRegistry.get("translation.language.skipped").counter().count()).isZero();
+    }
+
+    @Test
+    void skipsTextsWithCloseUnsupportedNeighbours() {
+        String portuguese =
+            "O governo pretende ampliar significativamente o apoio às energias renováveis no próximo ano, informou o ministério da " +
+            "economia na quarta-feira.";
+
+        assertThat(languageIdentifier.isAlreadyIn(portuguese, Language.PORTUGUESE)).isTrue();
+        assertThat(languageIdentifier.isAlreadyIn("政府计划明年大幅扩大对可再生能源的支持，经济部星期三表示。", Language.CHINESE)).isTrue();
+    }
+}
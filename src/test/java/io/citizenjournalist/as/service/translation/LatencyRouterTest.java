@@ -0,0 +1,67 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class LatencyRouterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final LatencyRouter router = new LatencyRouter(
+        List.of("global", "us-central1", "europe-west1"),
+        0.5,
+        Duration.ofSeconds(30),
+        new SimpleMeterRegistry(),
+        now::get
+    );
+
+    @Test
+    void triesEndpointsNeverCalledFirst() {
+        router.record(0, 10 * MILLIS, false);
+
+        assertThat(router.order()).containsExactly(1, 2, 0);
+    }
+
+    @Test
+    void prefersTheFastestEndpoint() {
+        router.record(0, 80 * MILLIS, false);
+        router.record(1, 20 * MILLIS, false);
+        router.record(2, 50 * MILLIS, false);
+
+        assertThat(router.order()).containsExactly(1, 2, 0);
+    }
+
+    @Test
+    void avoidsFailingEndpoints() {
+        router.record(0, 80 * MILLIS, false);
+        router.record(1, 20 * MILLIS, false);
+        router.record(2, 50 * MILLIS, false);
+
+        router.record(1, 20 * MILLIS, true);
+        router.record(1, 20 * MILLIS, true);
+
+        assertThat(router.order()).containsExactly(2, 0, 1);
+    }
+
+    @Test
+    void probesEndpointsNotCalledRecently() {
+        router.record(0, 80 * MILLIS, false);
+        router.record(1, 20 * MILLIS, false);
+        router.record(2, 50 * MILLIS, false);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        router.record(1, 20 * MILLIS, false);
+        router.record(2, 50 * MILLIS, false);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(25));
+
+        assertThat(router.order()).containsExactly(0, 1, 2);
+        assertThat(router.order()).containsExactly(1, 2, 0);
+    }
+}
@@ -0,0 +1,82 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LocalTranslationProviderTest {
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getTranslation().getLocal().setMedianLatency(Duration.ZERO);
+    }
+
+    @Test
+    void prefixesEveryContentWithTheTargetLanguage() {
+        LocalTranslationProvider localTranslationProvider = new LocalTranslationProvider(applicationProperties);
+
+        List<TranslatedText> translations = localTranslationProvider
+            .translate(List.of("Erster Satz.", "Zweiter Satz."), "fr", "text/plain")
+            .block(Duration.ofSeconds(5));
+
+        assertThat(translations).extracting(TranslatedText::getText).containsExactly("[fr] Erster Satz.", "[fr] Zweiter Satz.");
+        assertThat(translations).extracting(TranslatedText::getDetectedLanguage).containsOnly("en");
+    }
+
+    @Test
+    void failsTheSameCallsInEveryRun() {
+        applicationProperties.getTranslation().getLocal().setErrorRate(0.5);
+
+        List<Boolean> failures = failures(new LocalTranslationProvider(applicationProperties), 50);
+
+        assertThat(failures).contains(true, false);
+        assertThat(failures(new LocalTranslationProvider(applicationProperties), 50)).isEqualTo(failures);
+        applicationProperties.getTranslation().getLocal().setSeed(43);
+        assertThat(failures(new LocalTranslationProvider(applicationProperties), 50)).isNotEqualTo(failures);
+    }
+
+    @Test
+    void failsWithARetryableError() {
+        applicationProperties.getTranslation().getLocal().setErrorRate(1);
+        LocalTranslationProvider localTranslationProvider = new LocalTranslationProvider(applicationProperties);
+
+        assertThatThrownBy(() -> localTranslationProvider.translate(List.of("Satz."), "en", "text/plain").block(Duration.ofSeconds(5)))
+            .isInstanceOfSatisfying(TranslationProviderException.class, error -> assertThat(error.isRetryable()).isTrue());
+    }
+
+    @Test
+    void delaysCallsByTheMedianLatency() {
+        ApplicationProperties.Translation.Local local = applicationProperties.getTranslation().getLocal();
+        local.setMedianLatency(Duration.ofMillis(100));
+        local.setP99Latency(Duration.ofMillis(100));
+        LocalTranslationProvider localTranslationProvider = new LocalTranslationProvider(applicationProperties);
+
+        long start = System.nanoTime();
+        localTranslationProvider.translate(List.of("Satz."), "en", "text/plain").block(Duration.ofSeconds(5));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    private static List<Boolean> failures(LocalTranslationProvider localTranslationProvider, int calls) {
+        List<Boolean> failures = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            failures.add(
+                localTranslationProvider
+                    .translate(List.of("Satz."), "en", "text/plain")
+                    .map(translations -> false)
+                    .onErrorReturn(TranslationProviderException.class, true)
+                    .block(Duration.ofSeconds(5))
+            );
+        }
+        return failures;
+    }
+}
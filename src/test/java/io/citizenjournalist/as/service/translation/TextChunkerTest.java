@@ -0,0 +1,47 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TextChunkerTest {
+
+    @Test
+    void splitsAtSentenceBoundaries() {
+        String text = "First sentence. Second sentence.\n\nA new paragraph starts here.";
+
+        List<TextSegment> segments = new TextChunker(35).split(text);
+
+        assertThat(segments)
+            .extracting(TextSegment::getText)
+            .containsExactly("First sentence. Second sentence.", "A new paragraph starts here.");
+        assertThat(segments).extracting(TextSegment::getSeparator).containsExactly("\n\n", "");
+    }
+
+    @Test
+    void cutsOversizedSentencesAtWhitespace() {
+        String text = "one two three four five six seven eight nine ten";
+
+        List<TextSegment> segments = new TextChunker(15).split(text);
+
+        assertThat(segments).allSatisfy(segment -> assertThat(segment.getText()).hasSizeLessThanOrEqualTo(15).doesNotContain("  "));
+        assertThat(join(segments)).isEqualTo(text);
+    }
+
+    @Test
+    void joiningTheSegmentsRestoresTheText() {
+        String text = "  Leading whitespace. " + "Lorem ipsum dolor sit amet. ".repeat(50) + "\n\nEnd without a period\n";
+
+        List<TextSegment> segments = new TextChunker(100).split(text);
+
+        assertThat(segments).allSatisfy(segment -> assertThat(segment.getText()).hasSizeLessThanOrEqualTo(100));
+        assertThat(join(segments)).isEqualTo(text);
+    }
+
+    private static String join(List<TextSegment> segments) {
+        StringBuilder text = new StringBuilder();
+        segments.forEach(segment -> text.append(segment.getText()).append(segment.getSeparator()));
+        return text.toString();
+    }
+}
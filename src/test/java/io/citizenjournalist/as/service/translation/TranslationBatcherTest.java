@@ -0,0 +1,171 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.config.TranslationCircuitBreakerConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class TranslationBatcherTest {
+
+    private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getTranslation().getBatch().setWindow(Duration.ofMillis(50));
+    }
+
+    @Test
+    void coalescesConcurrentTranslationsIntoOneCall() {
+        TranslationBatcher batcher = createBatcher(upperCase());
+
+        List<TranslatedText> results = Mono
+            .zip(batcher.translate("one", "de", "text/plain"), batcher.translate("two", "de", "text/plain"))
+            .map(tuple -> List.of(tuple.getT1(), tuple.getT2()))
+            .block(Duration.ofSeconds(5));
+
+        assertThat(results).containsExactly(new TranslatedText("ONE", "en"), new TranslatedText("TWO", "en"));
+        assertThat(calls).containsExactly(List.of("one", "two"));
+    }
+
+    @Test
+    void sendsFullBatchWithoutWaitingForTheWindow() {
+        applicationProperties.getTranslation().getBatch().setWindow(Duration.ofMinutes(1));
+        applicationProperties.getTranslation().getBatch().setMaxCharacters(5);
+        TranslationBatcher batcher = createBatcher(upperCase());
+
+        TranslatedText result = batcher.translate("hello", "de", "text/plain").block(Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo(new TranslatedText("HELLO", "en"));
+    }
+
+    @Test
+    void keepsLanguagesInSeparateBatches() {
+        TranslationBatcher batcher = createBatcher(upperCase());
+
+        Mono.zip(batcher.translate("one", "de", "text/plain"), batcher.translate("one", "fr", "text/plain")).block(Duration.ofSeconds(5));
+
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void cancelsTheProviderCallOnceAllCallersCancelled() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        TranslationBatcher batcher = createBatcher((contents, targetLanguage, mimeType) -> {
+            calls.add(contents);
+            return Mono.<List<TranslatedText>>never().doOnCancel(() -> cancelled.set(true));
+        });
+
+        Disposable first = batcher.translate("one", "de", "text/plain").subscribe();
+        Disposable second = batcher.translate("two", "de", "text/plain").subscribe();
+        Mono.delay(Duration.ofMillis(10)).repeat(() -> calls.isEmpty()).blockLast(Duration.ofSeconds(5));
+        first.dispose();
+        assertThat(cancelled).isFalse();
+        second.dispose();
+
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void doesNotWaitForCallersCancelledBeforeBeingBatched() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        TranslationBatcher batcher = createBatcher((contents, targetLanguage, mimeType) -> {
+            calls.add(contents);
+            return Mono.<List<TranslatedText>>never().doOnCancel(() -> cancelled.set(true));
+        });
+
+        batcher
+            .translate("one", "de", "text/plain")
+            .subscribe(
+                new BaseSubscriber<>() {
+                    @Override
+                    protected void hookOnSubscribe(Subscription subscription) {
+                        cancel();
+                    }
+                }
+            );
+        Disposable second = batcher.translate("two", "de", "text/plain").subscribe();
+        Mono.delay(Duration.ofMillis(10)).repeat(() -> calls.isEmpty()).blockLast(Duration.ofSeconds(5));
+        second.dispose();
+
+        assertThat(calls).containsExactly(List.of("two"));
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void timesOutEachProviderCallWithoutItsWaitInTheLane() {
+        applicationProperties.getTranslation().getCircuitBreaker().setTimeout(Duration.ofMillis(150));
+        ApplicationProperties.Translation.Lanes lanes = applicationProperties.getTranslation().getLanes();
+        lanes.setAdaptive(false);
+        lanes.setInitialConcurrency(1);
+        TranslationProvider slowUpperCase = upperCase();
+        TranslationBatcher batcher = createBatcher((contents, targetLanguage, mimeType) ->
+            slowUpperCase.translate(contents, targetLanguage, mimeType).delayElement(Duration.ofMillis(100))
+        );
+
+        // one call at a time: the last one waits for two others in its lane, longer than the timeout
+        List<TranslatedText> results = Flux
+            .just("de", "fr", "it")
+            .flatMap(language -> batcher.translate("one", language, "text/plain"))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(results).hasSize(3);
+        assertThat(calls).hasSize(3);
+    }
+
+    @Test
+    void timesOutASlowProviderCall() {
+        applicationProperties.getTranslation().getCircuitBreaker().setTimeout(Duration.ofMillis(50));
+        TranslationBatcher batcher = createBatcher((contents, targetLanguage, mimeType) -> Mono.never());
+
+        assertThatThrownBy(() -> batcher.translate("one", "de", "text/plain").block(Duration.ofSeconds(5)))
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    private TranslationProvider upperCase() {
+        return (contents, targetLanguage, mimeType) -> {
+            calls.add(contents);
+            return Mono.just(
+                contents.stream().map(content -> new TranslatedText(content.toUpperCase(), "en")).collect(Collectors.toList())
+            );
+        };
+    }
+
+    private TranslationBatcher createBatcher(TranslationProvider translationProvider) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TranslationRateLimiter rateLimiter = new TranslationRateLimiter(applicationProperties, meterRegistry);
+        TranslationHedger translationHedger = new TranslationHedger(applicationProperties, meterRegistry);
+        TranslationLanes translationLanes = new TranslationLanes(applicationProperties, meterRegistry);
+        ReactiveResilience4JCircuitBreakerFactory circuitBreakerFactory = new ReactiveResilience4JCircuitBreakerFactory();
+        TranslationCircuitBreakerConfiguration circuitBreakerConfiguration = new TranslationCircuitBreakerConfiguration();
+        circuitBreakerConfiguration.translationCircuitBreakerCustomizer(applicationProperties).customize(circuitBreakerFactory);
+        return new TranslationBatcher(
+            translationProvider,
+            rateLimiter,
+            translationHedger,
+            translationLanes,
+            circuitBreakerConfiguration.translationCircuitBreaker(circuitBreakerFactory),
+            applicationProperties,
+            meterRegistry
+        );
+    }
+}
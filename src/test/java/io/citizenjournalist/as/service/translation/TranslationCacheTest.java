@@ -0,0 +1,74 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TranslationCacheTest {
+
+    private MeterRegistry meterRegistry;
+
+    private TranslationCache translationCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        translationCache = new TranslationCache(new ApplicationProperties(), meterRegistry);
+    }
+
+    @Test
+    void keyIgnoresSurroundingWhitespaceAndUnicodeComposition() {
+        TranslationKey composed = TranslationKey.of("Caf\u00e9", Language.GERMAN, "text/plain");
+        TranslationKey decomposed = TranslationKey.of("  Cafe\u0301\n", Language.GERMAN, "text/plain");
+
+        assertThat(decomposed).isEqualTo(composed);
+        assertThat(TranslationKey.of("Caf\u00e9", Language.FRENCH, "text/plain")).isNotEqualTo(composed);
+        assertThat(TranslationKey.of("Caf\u00e9", Language.GERMAN, "text/html")).isNotEqualTo(composed);
+    }
+
+    @Test
+    void recordsHitsAndMisses() {
+        TranslationKey key = TranslationKey.of("Hello", Language.GERMAN, "text/plain");
+
+        assertThat(translationCache.get(key)).isEmpty();
+        translationCache.put(key, new TranslatedText("Hallo", "en"));
+        assertThat(translationCache.get(key)).contains(new TranslatedText("Hallo", "en"));
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsExpiredTranslationsAsStale() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getTranslation().getCache().setTimeToLive(Duration.ZERO);
+        translationCache = new TranslationCache(applicationProperties, meterRegistry);
+        TranslationKey key = TranslationKey.of("Hello", Language.GERMAN, "text/plain");
+
+        translationCache.put(key, new TranslatedText("Hallo", "en"));
+
+        assertThat(translationCache.get(key)).isEmpty();
+        assertThat(translationCache.getStale(key))
+            .hasValueSatisfying(stale -> {
+                assertThat(stale.getText()).isEqualTo("Hallo");
+                assertThat(stale.isStale()).isTrue();
+            });
+    }
+
+    @Test
+    void evictsTheFreshAndTheStaleTranslation() {
+        TranslationKey key = TranslationKey.of("Hello", Language.GERMAN, "text/plain");
+        translationCache.put(key, new TranslatedText("Hallo", "en"));
+
+        translationCache.evict(key);
+
+        assertThat(translationCache.get(key)).isEmpty();
+        assertThat(translationCache.getStale(key)).isEmpty();
+    }
+}
@@ -0,0 +1,88 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class TranslationHedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Translation.Hedge hedge = applicationProperties.getTranslation().getHedge();
+        hedge.setEnabled(true);
+        hedge.setMinSamples(4);
+        hedge.setMinDelay(Duration.ofMillis(20));
+        hedge.setBudget(1);
+    }
+
+    @Test
+    void doesNotHedgeBeforeLatenciesAreKnown() {
+        TranslationHedger hedger = new TranslationHedger(applicationProperties, meterRegistry);
+
+        String result = hedger.hedge(Mono.just("slow").delayElement(Duration.ofMillis(100)), Mono.just("hedge")).block();
+
+        assertThat(result).isEqualTo("slow");
+        assertThat(meterRegistry.get("translation.hedge.fired").counter().count()).isZero();
+    }
+
+    @Test
+    void hedgesSlowCallAndCancelsTheLoser() {
+        TranslationHedger hedger = new TranslationHedger(applicationProperties, meterRegistry);
+        warmUp(hedger);
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        String result = hedger
+            .hedge(Mono.just("slow").delayElement(Duration.ofSeconds(5)).doOnCancel(() -> cancelled.set(true)), Mono.just("hedge"))
+            .block(Duration.ofSeconds(1));
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(cancelled).isTrue();
+        assertThat(meterRegistry.get("translation.hedge.fired").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("translation.hedge.won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotHedgeBeyondTheBudget() {
+        applicationProperties.getTranslation().getHedge().setBudget(0.1);
+        TranslationHedger hedger = new TranslationHedger(applicationProperties, meterRegistry);
+        warmUp(hedger);
+
+        String result = hedger.hedge(Mono.just("slow").delayElement(Duration.ofMillis(100)), Mono.just("hedge")).block();
+
+        assertThat(result).isEqualTo("slow");
+        assertThat(meterRegistry.get("translation.hedge.fired").counter().count()).isZero();
+    }
+
+    @Test
+    void samplesTheLatencyOfCancelledCalls() {
+        applicationProperties.getTranslation().getHedge().setMinDelay(Duration.ofMillis(1));
+        TranslationHedger hedger = new TranslationHedger(applicationProperties, meterRegistry);
+        warmUp(hedger);
+
+        for (int i = 0; i < 4; i++) {
+            String result = hedger
+                .hedge(Mono.just("slow").delayElement(Duration.ofSeconds(5)), Mono.just("hedge").delayElement(Duration.ofMillis(50)))
+                .block(Duration.ofSeconds(1));
+            assertThat(result).isEqualTo("hedge");
+        }
+
+        assertThat(meterRegistry.get("translation.hedge.delay").gauge().value()).isGreaterThanOrEqualTo(0.05);
+    }
+
+    private void warmUp(TranslationHedger hedger) {
+        for (int i = 0; i < 4; i++) {
+            hedger.hedge(Mono.just("fast"), Mono.just("hedge")).block();
+        }
+    }
+}
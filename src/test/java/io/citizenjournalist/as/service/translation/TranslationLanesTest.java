@@ -0,0 +1,154 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class TranslationLanesTest {
+
+    private final List<String> started = new CopyOnWriteArrayList<>();
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Translation.Lanes lanes = applicationProperties.getTranslation().getLanes();
+        lanes.setInitialConcurrency(1);
+        lanes.setMinConcurrency(1);
+        lanes.setMaxConcurrency(1);
+        lanes.getBulk().setMaxQueueDepth(2);
+    }
+
+    @Test
+    void givesFreedSlotsToInteractiveCallsFirst() {
+        TranslationLanes translationLanes = new TranslationLanes(applicationProperties, new SimpleMeterRegistry());
+        Sinks.One<String> first = Sinks.one();
+        translationLanes.run(TranslationPriority.BULK, call("bulk-1", first)).subscribe();
+        translationLanes.run(TranslationPriority.BULK, call("bulk-2", Sinks.one())).subscribe();
+        AtomicReference<String> result = new AtomicReference<>();
+        translationLanes.run(TranslationPriority.INTERACTIVE, Mono.fromCallable(() -> record("interactive"))).subscribe(result::set);
+
+        assertThat(started).containsExactly("bulk-1");
+
+        first.tryEmitValue("done");
+
+        assertThat(started).containsExactly("bulk-1", "interactive", "bulk-2");
+        assertThat(result.get()).isEqualTo("interactive");
+    }
+
+    @Test
+    void rejectsCallsBeyondTheQueueOfTheirLane() {
+        TranslationLanes translationLanes = new TranslationLanes(applicationProperties, new SimpleMeterRegistry());
+        translationLanes.run(TranslationPriority.BULK, call("bulk-1", Sinks.one())).subscribe();
+        translationLanes.run(TranslationPriority.BULK, call("bulk-2", Sinks.one())).subscribe();
+        translationLanes.run(TranslationPriority.BULK, call("bulk-3", Sinks.one())).subscribe();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        translationLanes.run(TranslationPriority.BULK, call("bulk-4", Sinks.one())).subscribe(value -> {}, error::set);
+
+        assertThat(error.get()).isInstanceOf(TranslationRateLimitExceededException.class);
+    }
+
+    @Test
+    void rejectsCallsExpectedToWaitTooLong() {
+        applicationProperties.getTranslation().getLanes().setMaxWait(Duration.ofMillis(150));
+        TranslationLanes translationLanes = new TranslationLanes(applicationProperties, new SimpleMeterRegistry());
+        translationLanes.run(TranslationPriority.INTERACTIVE, call("interactive-1", Sinks.one())).subscribe();
+        translationLanes.run(TranslationPriority.INTERACTIVE, call("interactive-2", Sinks.one())).subscribe();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        translationLanes.run(TranslationPriority.INTERACTIVE, call("interactive-3", Sinks.one())).subscribe(value -> {}, error::set);
+
+        assertThat(error.get()).isInstanceOf(TranslationRateLimitExceededException.class);
+    }
+
+    @Test
+    void releasesTheSlotOfCancelledCalls() {
+        TranslationLanes translationLanes = new TranslationLanes(applicationProperties, new SimpleMeterRegistry());
+        Disposable running = translationLanes.run(TranslationPriority.BACKGROUND, call("background", Sinks.one())).subscribe();
+        translationLanes.run(TranslationPriority.INTERACTIVE, call("interactive", Sinks.one())).subscribe();
+
+        running.dispose();
+
+        assertThat(started).containsExactly("background", "interactive");
+    }
+
+    @Test
+    void lowersTheLimitForCallsCutByTheBreakerTimeoutOnly() throws InterruptedException {
+        ApplicationProperties.Translation.Lanes lanes = applicationProperties.getTranslation().getLanes();
+        lanes.setInitialConcurrency(4);
+        lanes.setMaxConcurrency(8);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TranslationLanes translationLanes = new TranslationLanes(applicationProperties, meterRegistry);
+        Disposable admitting = translationLanes
+            .run(TranslationPriority.INTERACTIVE, Mono.never(), call("admitting", Sinks.one()))
+            .subscribe();
+        Disposable running = translationLanes.run(TranslationPriority.INTERACTIVE, call("running", Sinks.one())).subscribe();
+        Thread.sleep(50);
+
+        admitting.dispose();
+        running.dispose();
+
+        assertThat(meterRegistry.get("translation.concurrency.limit").gauge().value()).isEqualTo(4);
+
+        translationLanes
+            .run(TranslationPriority.INTERACTIVE, Mono.error(new TimeoutException()))
+            .onErrorResume(error -> Mono.empty())
+            .block();
+
+        assertThat(meterRegistry.get("translation.concurrency.limit").gauge().value()).isEqualTo(3);
+        assertThat(started).containsExactly("running");
+    }
+
+    @Test
+    void keepsTheAdaptiveLimitWithLanesDisabled() {
+        ApplicationProperties.Translation.Lanes lanes = applicationProperties.getTranslation().getLanes();
+        lanes.setEnabled(false);
+        lanes.setInitialConcurrency(2);
+        lanes.setMaxConcurrency(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TranslationLanes translationLanes = new TranslationLanes(applicationProperties, meterRegistry);
+
+        translationLanes
+            .run(TranslationPriority.INTERACTIVE, Mono.error(new TimeoutException()))
+            .onErrorResume(error -> Mono.empty())
+            .block();
+
+        assertThat(meterRegistry.get("translation.concurrency.limit").gauge().value()).isEqualTo(1);
+
+        Sinks.One<String> first = Sinks.one();
+        translationLanes.run(TranslationPriority.BULK, call("bulk-1", first)).subscribe();
+        translationLanes.run(TranslationPriority.BULK, call("bulk-2", Sinks.one())).subscribe();
+        translationLanes.run(TranslationPriority.INTERACTIVE, call("interactive", Sinks.one())).subscribe();
+
+        assertThat(started).containsExactly("bulk-1");
+
+        first.tryEmitValue("done");
+
+        assertThat(started).containsExactly("bulk-1", "bulk-2");
+    }
+
+    private Mono<String> call(String name, Sinks.One<String> result) {
+        return Mono.defer(() -> {
+            record(name);
+            return result.asMono();
+        });
+    }
+
+    private String record(String name) {
+        started.add(name);
+        return name;
+    }
+}
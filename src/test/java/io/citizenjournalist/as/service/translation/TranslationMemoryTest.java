@@ -0,0 +1,156 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.GlossaryTerm;
+import io.citizenjournalist.as.domain.Translation;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.citizenjournalist.as.repository.TranslationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class TranslationMemoryTest {
+
+    private static final String INPUT =
+        "Die Stadtverwaltung hat am Montag den neuen Haushalt vorgestellt. " +
+        "Er sieht höhere Ausgaben für Schulen und den Nahverkehr vor. " +
+        "Die Opposition kritisierte die geplante Neuverschuldung scharf. " +
+        "Der Stadtrat stimmt im März über den Entwurf ab.";
+
+    private static final String OUTPUT =
+        "The city administration presented the new budget on Monday. " +
+        "It provides for higher spending on schools and public transport. " +
+        "The opposition sharply criticized the planned new borrowing. " +
+        "The city council will vote on the draft in March.";
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Glossary glossary;
+
+    private TranslationMemory translationMemory;
+
+    private List<String> translated;
+
+    private Function<String, Mono<TranslatedText>> translator;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        glossary = new Glossary(applicationProperties, meterRegistry);
+        translationMemory = new TranslationMemory(mock(TranslationRepository.class), glossary, applicationProperties, meterRegistry);
+        translated = new ArrayList<>();
+        translator =
+            sentence -> {
+                translated.add(sentence);
+                return Mono.just(new TranslatedText("<" + sentence + ">", "de"));
+            };
+    }
+
+    @Test
+    void translatesOnlyChangedSentences() {
+        translationMemory.add(translation(1L, INPUT, OUTPUT, Language.ENGLISH));
+        String edited = INPUT.replace("im März", "im April");
+
+        TranslatedText result = translationMemory.find(edited, Language.ENGLISH).orElseThrow().translate(translator).block();
+
+        assertThat(translated).containsExactly("Der Stadtrat stimmt im April über den Entwurf ab.");
+        assertThat(result.getText())
+            .isEqualTo(
+                "The city administration presented the new budget on Monday. " +
+                "It provides for higher spending on schools and public transport. " +
+                "The opposition sharply criticized the planned new borrowing. " +
+                "<Der Stadtrat stimmt im April über den Entwurf ab.>"
+            );
+        assertThat(meterRegistry.get("translation.memory.segments.reused").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("translation.memory.segments.translated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reusesTextsEqualAfterNormalization() {
+        translationMemory.add(translation(1L, INPUT, OUTPUT, Language.ENGLISH));
+
+        TranslatedText result = translationMemory
+            .find("  " + INPUT.replace(". ", ".\n\n"), Language.ENGLISH)
+            .orElseThrow()
+            .translate(translator)
+            .block();
+
+        assertThat(translated).isEmpty();
+        assertThat(result.getText()).isEqualTo(OUTPUT);
+        assertThat(result.getDetectedLanguage()).isEqualTo("de");
+    }
+
+    @Test
+    void reusesOnlyTheWholeTextOfMisalignedTranslations() {
+        String output =
+            "The city administration presented the new budget on Monday and it provides for higher spending on schools " +
+            "and public transport. " +
+            "The opposition sharply criticized the planned new borrowing. " +
+            "The city council will vote on the draft. " +
+            "It will do so in March.";
+        translationMemory.add(translation(1L, INPUT, output, Language.ENGLISH));
+
+        assertThat(translationMemory.find(INPUT.replace("im März", "im April"), Language.ENGLISH)).isEmpty();
+
+        TranslatedText result = translationMemory.find(INPUT, Language.ENGLISH).orElseThrow().translate(translator).block();
+
+        assertThat(translated).isEmpty();
+        assertThat(result.getText()).isEqualTo(output);
+    }
+
+    @Test
+    void ignoresOtherLanguagesAndDissimilarTexts() {
+        translationMemory.add(translation(1L, INPUT, OUTPUT, Language.ENGLISH));
+
+        assertThat(translationMemory.find(INPUT, Language.FRENCH)).isEmpty();
+        assertThat(translationMemory.find("Die Polizei hat am Montag zwei Verdächtige festgenommen.", Language.ENGLISH)).isEmpty();
+    }
+
+    @Test
+    void removesDeletedTranslations() {
+        translationMemory.add(translation(1L, INPUT, OUTPUT, Language.ENGLISH));
+
+        translationMemory.remove(1L);
+
+        assertThat(translationMemory.find(INPUT, Language.ENGLISH)).isEmpty();
+        assertThat(translationMemory.size()).isZero();
+        assertThat(translationMemory.weight()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedTranslations() {
+        applicationProperties.getTranslation().getMemory().setMaxEntries(2);
+        translationMemory.add(translation(1L, INPUT, OUTPUT, Language.ENGLISH));
+        translationMemory.add(translation(2L, INPUT, OUTPUT, Language.FRENCH));
+        translationMemory.find(INPUT, Language.ENGLISH);
+
+        translationMemory.add(translation(3L, INPUT, OUTPUT, Language.SPANISH));
+
+        assertThat(translationMemory.size()).isEqualTo(2);
+        assertThat(translationMemory.find(INPUT, Language.ENGLISH)).isPresent();
+        assertThat(translationMemory.find(INPUT, Language.FRENCH)).isEmpty();
+    }
+
+    @Test
+    void ignoresTranslationsMadeWithAnotherGlossary() {
+        translationMemory.add(translation(1L, INPUT, OUTPUT, Language.ENGLISH));
+
+        glossary.load(List.of(new GlossaryTerm().term("Stadtrat").replacement("city council")));
+
+        assertThat(translationMemory.find(INPUT, Language.ENGLISH)).isEmpty();
+    }
+
+    private static Translation translation(Long id, String input, String output, Language language) {
+        return new Translation().id(id).inputText(input).outputText(output).language(language).detectedLanguage("de");
+    }
+}
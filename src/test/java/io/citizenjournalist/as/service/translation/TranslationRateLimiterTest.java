@@ -0,0 +1,65 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+class TranslationRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Translation.RateLimit rateLimit = applicationProperties.getTranslation().getRateLimit();
+        rateLimit.setCharactersPerMinute(6_000);
+        rateLimit.setRequestsPerMinute(600);
+        rateLimit.setMaxQueueDepth(1);
+    }
+
+    @Test
+    void grantsCallsWithinTheQuotaImmediately() {
+        TranslationRateLimiter rateLimiter = new TranslationRateLimiter(applicationProperties, meterRegistry);
+
+        rateLimiter.acquire(1_000).block(Duration.ofMillis(100));
+
+        assertThat(meterRegistry.get("translation.ratelimit.characters.available").gauge().value()).isLessThan(5_100);
+    }
+
+    @Test
+    void waitsForTheQuotaToRefill() {
+        TranslationRateLimiter rateLimiter = new TranslationRateLimiter(applicationProperties, meterRegistry);
+        rateLimiter.acquire(6_000).block(Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        rateLimiter.acquire(20).block(Duration.ofSeconds(5));
+
+        // 6000 characters per minute refill 20 characters in 200ms
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(150));
+    }
+
+    @Test
+    void rejectsCallsOnceTheQueueIsFull() {
+        TranslationRateLimiter rateLimiter = new TranslationRateLimiter(applicationProperties, meterRegistry);
+        rateLimiter.acquire(6_000).block(Duration.ofMillis(100));
+        Disposable queued = rateLimiter.acquire(3_000).subscribe();
+
+        assertThatThrownBy(() -> rateLimiter.acquire(3_000).block(Duration.ofSeconds(1)))
+            .isInstanceOfSatisfying(
+                TranslationRateLimitExceededException.class,
+                e -> assertThat(e.getRetryAfter()).isGreaterThan(Duration.ofSeconds(30))
+            );
+        assertThat(meterRegistry.get("translation.ratelimit.rejected").counter().count()).isEqualTo(1);
+
+        queued.dispose();
+        assertThat(meterRegistry.get("translation.ratelimit.queue.depth").gauge().value()).isZero();
+    }
+}
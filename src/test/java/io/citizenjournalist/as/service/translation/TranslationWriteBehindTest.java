@@ -0,0 +1,159 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.citizenjournalist.as.config.ApplicationProperties;
+import io.citizenjournalist.as.domain.Translation;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.citizenjournalist.as.repository.TranslationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+class TranslationWriteBehindTest {
+
+    private final List<List<Translation>> inserts = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TranslationRepository translationRepository;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Translation.WriteBehind writeBehind = applicationProperties.getTranslation().getWriteBehind();
+        writeBehind.setEnabled(true);
+        writeBehind.setMaxBatchSize(2);
+        writeBehind.setRetryBackoff(Duration.ofMillis(1));
+        meterRegistry = new SimpleMeterRegistry();
+        translationRepository = mock(TranslationRepository.class);
+    }
+
+    @Test
+    void insertsFullBatchesInOneStatement() {
+        when(translationRepository.insertAll(any())).thenAnswer(invocation -> insert(invocation.getArgument(0)));
+        TranslationWriteBehind translationWriteBehind = createTranslationWriteBehind();
+        Translation first = translation("Erster Satz.");
+        Translation second = translation("Zweiter Satz.");
+
+        translationWriteBehind.write(List.of(first)).block(Duration.ofSeconds(5));
+
+        assertThat(inserts).isEmpty();
+
+        translationWriteBehind.write(List.of(second)).block(Duration.ofSeconds(5));
+
+        assertThat(inserts).containsExactly(List.of(first, second));
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(second.getId()).isEqualTo(2L);
+        assertThat(meterRegistry.get("translation.write.behind.flushed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void makesWritesWaitWhileTheBufferIsFull() {
+        applicationProperties.getTranslation().getWriteBehind().setMaxBufferedCharacters(30);
+        Sinks.Empty<Void> database = Sinks.empty();
+        when(translationRepository.insertAll(any()))
+            .thenAnswer(invocation -> database.asMono().thenMany(Flux.defer(() -> insert(invocation.getArgument(0)))));
+        TranslationWriteBehind translationWriteBehind = createTranslationWriteBehind();
+        translationWriteBehind.write(List.of(translation("Erster Satz."))).block(Duration.ofSeconds(5));
+        AtomicBoolean buffered = new AtomicBoolean();
+
+        translationWriteBehind.write(List.of(translation("Zweiter Satz."))).subscribe(null, null, () -> buffered.set(true));
+
+        assertThat(buffered).isFalse();
+
+        database.tryEmitEmpty();
+
+        assertThat(buffered).isTrue();
+        assertThat(inserts).hasSize(2);
+    }
+
+    @Test
+    void dropsBatchesStillFailingAfterTheRetries() {
+        applicationProperties.getTranslation().getWriteBehind().setMaxRetries(1);
+        when(translationRepository.insertAll(any())).thenReturn(Flux.error(new TransientDataAccessResourceException("connection refused")));
+        TranslationWriteBehind translationWriteBehind = createTranslationWriteBehind();
+        translationWriteBehind.write(List.of(translation("Erster Satz."))).block(Duration.ofSeconds(5));
+
+        translationWriteBehind.stop();
+
+        assertThat(meterRegistry.get("translation.write.behind.failures").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("translation.write.behind.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("translation.write.behind.buffered.characters").gauge().value()).isZero();
+    }
+
+    @Test
+    void dropsBatchesWhichMayHaveBeenInsertedWithoutRetrying() {
+        when(translationRepository.insertAll(any())).thenReturn(Flux.error(new DataAccessResourceFailureException("connection reset")));
+        TranslationWriteBehind translationWriteBehind = createTranslationWriteBehind();
+        translationWriteBehind.write(List.of(translation("Erster Satz."))).block(Duration.ofSeconds(5));
+
+        translationWriteBehind.stop();
+
+        assertThat(meterRegistry.get("translation.write.behind.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("translation.write.behind.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsBatchesWhoseIdsAreMissing() {
+        when(translationRepository.insertAll(any())).thenReturn(Flux.just(1L));
+        TranslationWriteBehind translationWriteBehind = createTranslationWriteBehind();
+        Translation first = translation("Erster Satz.");
+        Translation second = translation("Zweiter Satz.");
+
+        translationWriteBehind.write(List.of(first, second)).block(Duration.ofSeconds(5));
+
+        assertThat(first.getId()).isNull();
+        assertThat(second.getId()).isNull();
+        assertThat(meterRegistry.get("translation.write.behind.flushed").counter().count()).isZero();
+        assertThat(meterRegistry.get("translation.write.behind.dropped").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void insertsTheBufferOnShutdown() {
+        when(translationRepository.insertAll(any())).thenAnswer(invocation -> insert(invocation.getArgument(0)));
+        TranslationWriteBehind translationWriteBehind = createTranslationWriteBehind();
+        Translation translation = translation("Erster Satz.");
+        translationWriteBehind.write(List.of(translation)).block(Duration.ofSeconds(5));
+
+        translationWriteBehind.stop();
+
+        assertThat(inserts).containsExactly(List.of(translation));
+        assertThat(meterRegistry.get("translation.write.behind.buffered").gauge().value()).isZero();
+    }
+
+    private TranslationWriteBehind createTranslationWriteBehind() {
+        TranslationMemory translationMemory = new TranslationMemory(
+            translationRepository,
+            new Glossary(applicationProperties, meterRegistry),
+            applicationProperties,
+            meterRegistry
+        );
+        return new TranslationWriteBehind(translationRepository, translationMemory, applicationProperties, meterRegistry);
+    }
+
+    private Flux<Long> insert(List<Translation> translations) {
+        inserts.add(translations);
+        return Flux.range(0, translations.size()).map(i -> ids.incrementAndGet());
+    }
+
+    private static Translation translation(String inputText) {
+        return new Translation().inputText(inputText).language(Language.ENGLISH).outputText(inputText.toUpperCase()).persist(true);
+    }
+}
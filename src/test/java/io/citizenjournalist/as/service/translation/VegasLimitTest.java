@@ -0,0 +1,69 @@
+package io.citizenjournalist.as.service.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class VegasLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void growsWhileCallsDoNotQueue() {
+        VegasLimit limit = new VegasLimit(10, 2, 100);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(RTT, limit.get(), false);
+        }
+
+        assertThat(limit.get()).isGreaterThan(10);
+    }
+
+    @Test
+    void shrinksWhenCallsQueue() {
+        VegasLimit limit = new VegasLimit(20, 2, 100);
+        limit.onSample(RTT, 20, false);
+
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(2 * RTT, limit.get(), false);
+        }
+
+        assertThat(limit.get()).isLessThan(20);
+    }
+
+    @Test
+    void shrinksWhenCallsFail() {
+        VegasLimit limit = new VegasLimit(20, 2, 100);
+
+        limit.onSample(RTT, 20, true);
+
+        assertThat(limit.get()).isLessThan(20);
+    }
+
+    @Test
+    void ignoresCallsSentBelowTheLimit() {
+        VegasLimit limit = new VegasLimit(20, 2, 100);
+        limit.onSample(RTT, 20, false);
+
+        limit.onSample(RTT, 5, false);
+        limit.onSample(2 * RTT, 5, false);
+
+        assertThat(limit.get()).isEqualTo(20);
+    }
+
+    @Test
+    void staysWithinItsBounds() {
+        VegasLimit limit = new VegasLimit(3, 2, 4);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(RTT, 4, true);
+        }
+        assertThat(limit.get()).isEqualTo(2);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(RTT, 4, false);
+        }
+        assertThat(limit.get()).isEqualTo(4);
+    }
+}
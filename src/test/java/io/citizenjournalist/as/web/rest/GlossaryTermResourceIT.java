@@ -0,0 +1,211 @@
+package io.citizenjournalist.as.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
+
+import io.citizenjournalist.as.IntegrationTest;
+import io.citizenjournalist.as.domain.GlossaryTerm;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.citizenjournalist.as.repository.EntityManager;
+import io.citizenjournalist.as.repository.GlossaryTermRepository;
+import io.citizenjournalist.as.service.dto.GlossaryTermDTO;
+import io.citizenjournalist.as.service.mapper.GlossaryTermMapper;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link GlossaryTermResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class GlossaryTermResourceIT {
+
+    private static final String DEFAULT_TERM = "AAAAAAAAAA";
+    private static final String UPDATED_TERM = "BBBBBBBBBB";
+
+    private static final String DEFAULT_REPLACEMENT = "AAAAAAAAAA";
+    private static final String UPDATED_REPLACEMENT = "BBBBBBBBBB";
+
+    private static final Language DEFAULT_LANGUAGE = Language.GERMAN;
+    private static final Language UPDATED_LANGUAGE = Language.ENGLISH;
+
+    private static final String ENTITY_API_URL = "/api/glossary-terms";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private GlossaryTermRepository glossaryTermRepository;
+
+    @Autowired
+    private GlossaryTermMapper glossaryTermMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private GlossaryTerm glossaryTerm;
+
+    public static GlossaryTerm createEntity(EntityManager em) {
+        return new GlossaryTerm().term(DEFAULT_TERM).replacement(DEFAULT_REPLACEMENT).language(DEFAULT_LANGUAGE);
+    }
+
+    public static void deleteEntities(EntityManager em) {
+        try {
+            em.deleteAll(GlossaryTerm.class).block();
+        } catch (Exception e) {
+            // It can fail, if other entities are still referring this - it will be removed later.
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteEntities(em);
+    }
+
+    @BeforeEach
+    public void setupCsrf() {
+        webTestClient = webTestClient.mutateWith(csrf());
+    }
+
+    @BeforeEach
+    public void initTest() {
+        deleteEntities(em);
+        glossaryTerm = createEntity(em);
+    }
+
+    @Test
+    void createGlossaryTerm() throws Exception {
+        int databaseSizeBeforeCreate = glossaryTermRepository.findAll().collectList().block().size();
+        GlossaryTermDTO glossaryTermDTO = glossaryTermMapper.toDto(glossaryTerm);
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(glossaryTermDTO))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+
+        // Validate the GlossaryTerm in the database
+        List<GlossaryTerm> glossaryTermList = glossaryTermRepository.findAll().collectList().block();
+        assertThat(glossaryTermList).hasSize(databaseSizeBeforeCreate + 1);
+        GlossaryTerm testGlossaryTerm = glossaryTermList.get(glossaryTermList.size() - 1);
+        assertThat(testGlossaryTerm.getTerm()).isEqualTo(DEFAULT_TERM);
+        assertThat(testGlossaryTerm.getReplacement()).isEqualTo(DEFAULT_REPLACEMENT);
+        assertThat(testGlossaryTerm.getLanguage()).isEqualTo(DEFAULT_LANGUAGE);
+    }
+
+    @Test
+    void createGlossaryTermWithExistingId() throws Exception {
+        glossaryTerm.setId(1L);
+        GlossaryTermDTO glossaryTermDTO = glossaryTermMapper.toDto(glossaryTerm);
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(glossaryTermDTO))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void checkTermIsRequired() throws Exception {
+        glossaryTerm.setTerm(null);
+        GlossaryTermDTO glossaryTermDTO = glossaryTermMapper.toDto(glossaryTerm);
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(glossaryTermDTO))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getAllGlossaryTerms() {
+        glossaryTermRepository.save(glossaryTerm).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(glossaryTerm.getId().intValue()))
+            .jsonPath("$.[*].term")
+            .value(hasItem(DEFAULT_TERM))
+            .jsonPath("$.[*].replacement")
+            .value(hasItem(DEFAULT_REPLACEMENT))
+            .jsonPath("$.[*].language")
+            .value(hasItem(DEFAULT_LANGUAGE.toString()));
+    }
+
+    @Test
+    void getNonExistingGlossaryTerm() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, Long.MAX_VALUE)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    @Test
+    void putExistingGlossaryTerm() throws Exception {
+        glossaryTermRepository.save(glossaryTerm).block();
+
+        GlossaryTerm updatedGlossaryTerm = glossaryTermRepository.findById(glossaryTerm.getId()).block();
+        updatedGlossaryTerm.term(UPDATED_TERM).replacement(UPDATED_REPLACEMENT).language(UPDATED_LANGUAGE);
+        GlossaryTermDTO glossaryTermDTO = glossaryTermMapper.toDto(updatedGlossaryTerm);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, glossaryTermDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(glossaryTermDTO))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        GlossaryTerm testGlossaryTerm = glossaryTermRepository.findById(glossaryTerm.getId()).block();
+        assertThat(testGlossaryTerm.getTerm()).isEqualTo(UPDATED_TERM);
+        assertThat(testGlossaryTerm.getReplacement()).isEqualTo(UPDATED_REPLACEMENT);
+        assertThat(testGlossaryTerm.getLanguage()).isEqualTo(UPDATED_LANGUAGE);
+    }
+
+    @Test
+    void deleteGlossaryTerm() {
+        glossaryTermRepository.save(glossaryTerm).block();
+        int databaseSizeBeforeDelete = glossaryTermRepository.findAll().collectList().block().size();
+
+        webTestClient
+            .delete()
+            .uri(ENTITY_API_URL_ID, glossaryTerm.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNoContent();
+
+        List<GlossaryTerm> glossaryTermList = glossaryTermRepository.findAll().collectList().block();
+        assertThat(glossaryTermList).hasSize(databaseSizeBeforeDelete - 1);
+    }
+}
@@ -0,0 +1,156 @@
+package io.citizenjournalist.as.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
+
+import io.citizenjournalist.as.IntegrationTest;
+import io.citizenjournalist.as.domain.TranslationJob;
+import io.citizenjournalist.as.domain.enumeration.Language;
+import io.citizenjournalist.as.domain.enumeration.TranslationJobStatus;
+import io.citizenjournalist.as.repository.EntityManager;
+import io.citizenjournalist.as.repository.TranslationJobRepository;
+import io.citizenjournalist.as.service.dto.TranslationJobDTO;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link TranslationJobResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class TranslationJobResourceIT {
+
+    private static final String DEFAULT_INPUT_TEXT = "AAAAAAAAAA";
+
+    private static final Language DEFAULT_LANGUAGE = Language.GERMAN;
+
+    private static final String ENTITY_API_URL = "/api/translation-jobs";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private TranslationJobRepository translationJobRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private TranslationJobDTO translationJobDTO;
+
+    public static void deleteEntities(EntityManager em) {
+        try {
+            em.deleteAll(TranslationJob.class).block();
+        } catch (Exception e) {
+            // It can fail, if other entities are still referring this - it will be removed later.
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteEntities(em);
+    }
+
+    @BeforeEach
+    public void setupCsrf() {
+        webTestClient = webTestClient.mutateWith(csrf());
+    }
+
+    @BeforeEach
+    public void initTest() {
+        deleteEntities(em);
+        translationJobDTO = new TranslationJobDTO();
+        translationJobDTO.setInputText(DEFAULT_INPUT_TEXT);
+        translationJobDTO.setLanguage(DEFAULT_LANGUAGE);
+    }
+
+    @Test
+    void createTranslationJob() throws Exception {
+        int databaseSizeBeforeCreate = translationJobRepository.findAll().collectList().block().size();
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(translationJobDTO))
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectHeader()
+            .exists("Location")
+            .expectBody()
+            .jsonPath("$.id")
+            .isNotEmpty()
+            .jsonPath("$.inputText")
+            .doesNotExist();
+
+        // Validate the TranslationJob in the database
+        List<TranslationJob> translationJobList = translationJobRepository.findAll().collectList().block();
+        assertThat(translationJobList).hasSize(databaseSizeBeforeCreate + 1);
+        TranslationJob testTranslationJob = translationJobList.get(translationJobList.size() - 1);
+        assertThat(testTranslationJob.getInputText()).isEqualTo(DEFAULT_INPUT_TEXT);
+        assertThat(testTranslationJob.getLanguage()).isEqualTo(DEFAULT_LANGUAGE);
+    }
+
+    @Test
+    void createTranslationJobWithExistingId() throws Exception {
+        translationJobDTO.setId(1L);
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(translationJobDTO))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void waitForTranslationJob() throws Exception {
+        TranslationJobDTO submitted = webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(translationJobDTO))
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .returnResult(TranslationJobDTO.class)
+            .getResponseBody()
+            .blockFirst();
+
+        TranslationJobDTO finished = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "?wait=4", submitted.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(TranslationJobDTO.class)
+            .getResponseBody()
+            .blockFirst();
+
+        assertThat(finished.getStatus()).isEqualTo(TranslationJobStatus.DONE);
+        assertThat(finished.getTranslationId()).isNotNull();
+    }
+
+    @Test
+    void getNonExistingTranslationJob() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, Long.MAX_VALUE)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+}
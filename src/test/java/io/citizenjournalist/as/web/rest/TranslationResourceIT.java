@@ -1,30 +1,44 @@
 package io.citizenjournalist.as.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
 
 import io.citizenjournalist.as.IntegrationTest;
+import io.citizenjournalist.as.config.ApplicationProperties;
 import io.citizenjournalist.as.domain.Translation;
 import io.citizenjournalist.as.domain.enumeration.Language;
 import io.citizenjournalist.as.repository.EntityManager;
 import io.citizenjournalist.as.repository.TranslationRepository;
+import io.citizenjournalist.as.service.TranslationService;
+import io.citizenjournalist.as.service.dto.MultiLanguageTranslationDTO;
 import io.citizenjournalist.as.service.dto.TranslationDTO;
 import io.citizenjournalist.as.service.mapper.TranslationMapper;
+import io.citizenjournalist.as.service.translation.TranslationCache;
+import io.citizenjournalist.as.service.translation.TranslationKey;
+import io.citizenjournalist.as.service.translation.TranslationWriteBehind;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.util.Base64Utils;
+import reactor.core.publisher.Flux;
 
 /**
  * Integration tests for the {@link TranslationResource} REST controller.
@@ -67,6 +81,21 @@ class TranslationResourceIT {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private TranslationService translationService;
+
+    @Autowired
+    private TranslationWriteBehind translationWriteBehind;
+
+    @Autowired
+    private TranslationCache translationCache;
+
+    @Autowired
+    private ReactiveResilience4JCircuitBreakerFactory circuitBreakerFactory;
+
     private Translation translation;
 
     /**
@@ -101,6 +130,22 @@ class TranslationResourceIT {
         return translation;
     }
 
+    private static TranslationDTO translationDTO(String inputText, Language language, boolean persist) {
+        TranslationDTO translationDTO = new TranslationDTO();
+        translationDTO.setInputText(inputText);
+        translationDTO.setLanguage(language);
+        translationDTO.setPersist(persist);
+        return translationDTO;
+    }
+
+    private static MultiLanguageTranslationDTO multiLanguageTranslationDTO(String inputText, Language... languages) {
+        MultiLanguageTranslationDTO multiLanguageTranslationDTO = new MultiLanguageTranslationDTO();
+        multiLanguageTranslationDTO.setInputText(inputText);
+        multiLanguageTranslationDTO.setLanguages(Set.of(languages));
+        multiLanguageTranslationDTO.setPersist(true);
+        return multiLanguageTranslationDTO;
+    }
+
     public static void deleteEntities(EntityManager em) {
         try {
             em.deleteAll(Translation.class).block();
@@ -150,6 +195,363 @@ class TranslationResourceIT {
         assertThat(testTranslation.getOutputText()).isEqualTo(DEFAULT_OUTPUT_TEXT);
     }
 
+    @Test
+    void createTranslationProgressively() throws Exception {
+        TranslationDTO translationDTO = translationMapper.toDto(translation);
+
+        List<ServerSentEvent<String>> events = webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(translationDTO))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertThat(events).isNotEmpty();
+        assertThat(events.subList(0, events.size() - 1)).allSatisfy(event -> assertThat(event.event()).isEqualTo("segment"));
+        assertThat(events.get(events.size() - 1).event()).isEqualTo("translation");
+        assertThat(events.get(events.size() - 1).data()).contains("\"outputText\"");
+    }
+
+    @Test
+    void createTranslationWrittenBehind() throws Exception {
+        applicationProperties.getTranslation().getWriteBehind().setEnabled(true);
+        try {
+            int databaseSizeBeforeCreate = translationRepository.findAll().collectList().block().size();
+            translation.setPersist(true);
+            TranslationDTO translationDTO = translationMapper.toDto(translation);
+
+            webTestClient
+                .post()
+                .uri(ENTITY_API_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TestUtil.convertObjectToJsonBytes(translationDTO))
+                .exchange()
+                .expectStatus()
+                .isAccepted()
+                .expectHeader()
+                .doesNotExist(HttpHeaders.LOCATION)
+                .expectBody()
+                .jsonPath("$.id")
+                .doesNotExist()
+                .jsonPath("$.outputText")
+                .exists();
+
+            translationWriteBehind.stop();
+            assertThat(translationRepository.findAll().collectList().block()).hasSize(databaseSizeBeforeCreate + 1);
+        } finally {
+            applicationProperties.getTranslation().getWriteBehind().setEnabled(false);
+        }
+    }
+
+    @Test
+    void createTranslationProgressivelyWaitsForTheIdWithWriteBehind() throws Exception {
+        applicationProperties.getTranslation().getWriteBehind().setEnabled(true);
+        try {
+            translation.setPersist(true);
+            TranslationDTO translationDTO = translationMapper.toDto(translation);
+
+            List<ServerSentEvent<TranslationDTO>> events = webTestClient
+                .post()
+                .uri(ENTITY_API_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(TestUtil.convertObjectToJsonBytes(translationDTO))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<TranslationDTO>>() {})
+                .getResponseBody()
+                .filter(event -> "translation".equals(event.event()))
+                .collectList()
+                .block();
+
+            assertThat(events).hasSize(1);
+            assertThat(events.get(0).data().getId()).isNotNull();
+            assertThat(translationRepository.findById(events.get(0).data().getId()).block()).isNotNull();
+        } finally {
+            applicationProperties.getTranslation().getWriteBehind().setEnabled(false);
+        }
+    }
+
+    @Test
+    void createTranslations() throws Exception {
+        int databaseSizeBeforeCreate = translationRepository.findAll().collectList().block().size();
+        TranslationDTO first = translationDTO("Der erste Satz.", Language.ENGLISH, true);
+        TranslationDTO second = translationDTO("Der zweite Satz.", Language.FRENCH, true);
+
+        List<TranslationDTO> translationDTOs = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(first, second)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(TranslationDTO.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertThat(translationDTOs)
+            .hasSize(2)
+            .allSatisfy(translationDTO -> {
+                assertThat(translationDTO.getId()).isNotNull();
+                assertThat(translationDTO.getOutputText()).isNotNull();
+                assertThat(translationDTO.getError()).isNull();
+            });
+        assertThat(translationRepository.findAll().collectList().block()).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    void createTranslationsReportsTheTextsWhichCouldNotBeTranslated() throws Exception {
+        TranslationDTO translated = translationDTO("Ein übersetzter Satz.", Language.ENGLISH, false);
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(translated))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+        int databaseSizeBeforeCreate = translationRepository.findAll().collectList().block().size();
+        // from now on only the cached translation can be served
+        applicationProperties.getTranslation().getLocal().setErrorRate(1);
+        try {
+            TranslationDTO failing = translationDTO("Ein unübersetzbarer Satz.", Language.ENGLISH, true);
+
+            List<TranslationDTO> translationDTOs = webTestClient
+                .post()
+                .uri(ENTITY_API_URL + "/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .body(Flux.just(translationDTO("Ein übersetzter Satz.", Language.ENGLISH, true), failing), TranslationDTO.class)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .returnResult(TranslationDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+            assertThat(translationDTOs).hasSize(2);
+            TranslationDTO succeeded = translationDTOs
+                .stream()
+                .filter(translationDTO -> translationDTO.getError() == null)
+                .findFirst()
+                .get();
+            assertThat(succeeded.getInputText()).isEqualTo("Ein übersetzter Satz.");
+            assertThat(succeeded.getId()).isNotNull();
+            TranslationDTO failed = translationDTOs
+                .stream()
+                .filter(translationDTO -> translationDTO.getError() != null)
+                .findFirst()
+                .get();
+            assertThat(failed.getInputText()).isEqualTo("Ein unübersetzbarer Satz.");
+            assertThat(failed.getId()).isNull();
+            assertThat(failed.getOutputText()).isNull();
+            assertThat(translationRepository.findAll().collectList().block()).hasSize(databaseSizeBeforeCreate + 1);
+        } finally {
+            applicationProperties.getTranslation().getLocal().setErrorRate(0);
+        }
+    }
+
+    @Test
+    void createTranslationsReportsTheInvalidTranslations() throws Exception {
+        int databaseSizeBeforeCreate = translationRepository.findAll().collectList().block().size();
+        TranslationDTO withId = translationDTO("Ein Satz mit ID.", Language.ENGLISH, true);
+        withId.setId(count.incrementAndGet());
+        TranslationDTO withoutLanguage = translationDTO("Ein Satz ohne Sprache.", null, true);
+
+        List<TranslationDTO> translationDTOs = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/batch")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .body(Flux.just(withId, withoutLanguage, translationDTO("Ein gültiger Satz.", Language.ENGLISH, true)), TranslationDTO.class)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(TranslationDTO.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertThat(translationDTOs).hasSize(3);
+        assertThat(translationDTOs)
+            .filteredOn(translationDTO -> translationDTO.getError() != null)
+            .extracting(TranslationDTO::getInputText, TranslationDTO::getError)
+            .containsExactlyInAnyOrder(
+                tuple("Ein Satz mit ID.", "A new translation cannot already have an ID"),
+                tuple("Ein Satz ohne Sprache.", "language must not be null")
+            );
+        assertThat(translationDTOs)
+            .filteredOn(translationDTO -> translationDTO.getError() == null)
+            .singleElement()
+            .satisfies(translationDTO -> assertThat(translationDTO.getId()).isNotNull());
+        assertThat(translationRepository.findAll().collectList().block()).hasSize(databaseSizeBeforeCreate + 1);
+    }
+
+    @Test
+    void createTranslationsKeepsUpWithASlowClient() {
+        int databaseSizeBeforeCreate = translationRepository.findAll().collectList().block().size();
+        ApplicationProperties.Translation.Bulk bulk = applicationProperties.getTranslation().getBulk();
+        int persistBatchSize = bulk.getPersistBatchSize();
+        bulk.setPersistBatchSize(5);
+        try {
+            // batches were emitted regardless of demand, and overflowed once the client fell a batch behind
+            List<TranslationDTO> translationDTOs = translationService
+                .saveAll(Flux.range(0, 100).map(i -> translationDTO("Satz Nummer " + i + ".", Language.ENGLISH, true)))
+                .limitRate(1)
+                .delayElements(Duration.ofMillis(5))
+                .collectList()
+                .block();
+
+            assertThat(translationDTOs).hasSize(100).allSatisfy(translationDTO -> assertThat(translationDTO.getId()).isNotNull());
+            assertThat(translationRepository.findAll().collectList().block()).hasSize(databaseSizeBeforeCreate + 100);
+        } finally {
+            bulk.setPersistBatchSize(persistBatchSize);
+        }
+    }
+
+    @Test
+    void createTranslationInLanguages() throws Exception {
+        int databaseSizeBeforeCreate = translationRepository.findAll().collectList().block().size();
+        MultiLanguageTranslationDTO multiLanguageTranslationDTO = multiLanguageTranslationDTO(
+            "Ein Satz in mehreren Sprachen.",
+            Language.FRENCH,
+            Language.ENGLISH
+        );
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/languages")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(multiLanguageTranslationDTO))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(2)
+            .jsonPath("$[0].language")
+            .isEqualTo(Language.ENGLISH.toString())
+            .jsonPath("$[1].language")
+            .isEqualTo(Language.FRENCH.toString())
+            .jsonPath("$[*].id")
+            .value(ids -> assertThat((List<?>) ids).hasSize(2).doesNotContainNull())
+            .jsonPath("$[*].outputText")
+            .value(outputTexts -> assertThat((List<?>) outputTexts).hasSize(2).doesNotContainNull())
+            .jsonPath("$[0].error")
+            .doesNotExist()
+            .jsonPath("$[1].error")
+            .doesNotExist();
+
+        assertThat(translationRepository.findAll().collectList().block()).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    void createTranslationInLanguagesReportsTheLanguagesItCouldNotBeTranslatedInto() throws Exception {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(translationDTO("Ein halb übersetzter Satz.", Language.ENGLISH, false)))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+        int databaseSizeBeforeCreate = translationRepository.findAll().collectList().block().size();
+        // from now on only the cached translation into English can be served
+        applicationProperties.getTranslation().getLocal().setErrorRate(1);
+        try {
+            MultiLanguageTranslationDTO multiLanguageTranslationDTO = multiLanguageTranslationDTO(
+                "Ein halb übersetzter Satz.",
+                Language.ENGLISH,
+                Language.GERMAN
+            );
+
+            webTestClient
+                .post()
+                .uri(ENTITY_API_URL + "/languages")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TestUtil.convertObjectToJsonBytes(multiLanguageTranslationDTO))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(2)
+                .jsonPath("$[0].language")
+                .isEqualTo(Language.ENGLISH.toString())
+                .jsonPath("$[0].id")
+                .isNotEmpty()
+                .jsonPath("$[0].outputText")
+                .isNotEmpty()
+                .jsonPath("$[0].error")
+                .doesNotExist()
+                .jsonPath("$[1].language")
+                .isEqualTo(Language.GERMAN.toString())
+                .jsonPath("$[1].id")
+                .doesNotExist()
+                .jsonPath("$[1].outputText")
+                .doesNotExist()
+                .jsonPath("$[1].error")
+                .isNotEmpty();
+
+            assertThat(translationRepository.findAll().collectList().block()).hasSize(databaseSizeBeforeCreate + 1);
+        } finally {
+            applicationProperties.getTranslation().getLocal().setErrorRate(0);
+        }
+    }
+
+    @Test
+    void createTranslationServesTheLastKnownTranslationWithoutStoringIt() throws Exception {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(translationDTO("Ein bekannter Satz.", Language.ENGLISH, false)))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+        int databaseSizeBeforeCreate = translationRepository.findAll().collectList().block().size();
+        // only the last known translation is left, and the provider cannot be called
+        translationCache.invalidateAll();
+        CircuitBreaker circuitBreaker = circuitBreakerFactory.getCircuitBreakerRegistry().circuitBreaker("translation");
+        circuitBreaker.transitionToForcedOpenState();
+        try {
+            webTestClient
+                .post()
+                .uri(ENTITY_API_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TestUtil.convertObjectToJsonBytes(translationDTO("Ein bekannter Satz.", Language.ENGLISH, true)))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .doesNotExist(HttpHeaders.LOCATION)
+                .expectBody()
+                .jsonPath("$.stale")
+                .isEqualTo(true)
+                .jsonPath("$.id")
+                .doesNotExist()
+                .jsonPath("$.outputText")
+                .isNotEmpty();
+
+            assertThat(translationRepository.findAll().collectList().block()).hasSize(databaseSizeBeforeCreate);
+            assertThat(translationCache.get(TranslationKey.of("Ein bekannter Satz.", Language.ENGLISH, "text/plain"))).isEmpty();
+        } finally {
+            circuitBreaker.transitionToClosedState();
+        }
+    }
+
     @Test
     void createTranslationWithExistingId() throws Exception {
         // Create the Translation with an existing ID
@@ -326,6 +728,44 @@ class TranslationResourceIT {
         assertThat(testTranslation.getOutputText()).isEqualTo(UPDATED_OUTPUT_TEXT);
     }
 
+    @Test
+    void putExistingTranslationReplacesTheCachedOne() throws Exception {
+        TranslationDTO translationDTO = webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(translationDTO("Ein korrigierter Satz.", Language.ENGLISH, true)))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .returnResult(TranslationDTO.class)
+            .getResponseBody()
+            .blockFirst();
+        translationDTO.setOutputText(UPDATED_OUTPUT_TEXT);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, translationDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(translationDTO))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        // the same text is now translated as corrected rather than as first cached
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(translationDTO("Ein korrigierter Satz.", Language.ENGLISH, false)))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody()
+            .jsonPath("$.outputText")
+            .isEqualTo(UPDATED_OUTPUT_TEXT);
+    }
+
     @Test
     void putNonExistingTranslation() throws Exception {
         int databaseSizeBeforeUpdate = translationRepository.findAll().collectList().block().size();